@@ -86,3 +86,105 @@ CREATE TABLE assignments (
 
 
 
+-- Vue matérialisée des écarts offre/demande par compétence
+-- Demande : projets actifs (démarrage, en cours, en pause) requérant la compétence
+-- et places restant à pourvoir dans leur équipe ; offre : collaborateurs actifs DISPONIBLE
+CREATE MATERIALIZED VIEW skill_gap_matrix AS
+SELECT s.id AS skill_id,
+       s.name AS skill_name,
+       s.category AS category,
+       COALESCE(demand.project_count, 0) AS demanding_projects,
+       COALESCE(demand.open_slots, 0) AS open_slots,
+       COALESCE(supply.available_count, 0) AS available_collaborators,
+       COALESCE(demand.open_slots, 0) - COALESCE(supply.available_count, 0) AS gap,
+       now() AS refreshed_at
+FROM skills s
+LEFT JOIN (
+    SELECT ps.skill_id,
+           COUNT(*) AS project_count,
+           SUM(GREATEST(p.team_size - COALESCE(a.assigned, 0), 0)) AS open_slots
+    FROM project_skills ps
+    JOIN projects p ON p.id = ps.project_id
+    LEFT JOIN (SELECT project_id, COUNT(*) AS assigned FROM assignments GROUP BY project_id) a
+           ON a.project_id = p.id
+    WHERE p.active = true AND p.status IN ('EN_DEMARRAGE', 'EN_COURS', 'EN_PAUSE')
+    GROUP BY ps.skill_id
+) demand ON demand.skill_id = s.id
+LEFT JOIN (
+    SELECT cs.skill_id, COUNT(*) AS available_count
+    FROM collaborator_skills cs
+    JOIN collaborators c ON c.id = cs.collaborator_id
+    WHERE c.active = true AND c.status = 'DISPONIBLE'
+    GROUP BY cs.skill_id
+) supply ON supply.skill_id = s.id;
+
+-- Index unique requis par REFRESH MATERIALIZED VIEW CONCURRENTLY
+CREATE UNIQUE INDEX idx_skill_gap_matrix_skill ON skill_gap_matrix (skill_id);
+CREATE INDEX idx_skill_gap_matrix_gap ON skill_gap_matrix (gap DESC);
+
+-- Historique des indicateurs du tableau de bord
+-- Résolution HOURLY sur 7 jours, DAILY sur un an, WEEKLY au-delà (sous-échantillonnage périodique)
+CREATE TABLE kpi_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    captured_at TIMESTAMP NOT NULL,
+    resolution VARCHAR(10) NOT NULL,
+    total_projects INTEGER NOT NULL,
+    total_active_projects INTEGER NOT NULL,
+    completed_projects INTEGER NOT NULL,
+    critical_projects INTEGER NOT NULL,
+    overdue_projects INTEGER NOT NULL,
+    recent_project_updates INTEGER NOT NULL,
+    total_collaborators INTEGER NOT NULL,
+    new_assignments INTEGER NOT NULL,
+    overall_project_progress DOUBLE PRECISION NOT NULL,
+    UNIQUE (resolution, captured_at)
+);
+
+CREATE INDEX idx_kpi_snapshots_captured_at ON kpi_snapshots (captured_at);
+
+
+-- Version des jetons JWT par utilisateur : un jeton portant une autre version
+-- (changement de rôle, de mot de passe) ou un utilisateur révoqué est refusé.
+-- Pas de clé étrangère : la révocation doit survivre à la suppression de l'utilisateur.
+CREATE TABLE user_token_versions (
+    user_id BIGINT PRIMARY KEY,
+    version INTEGER NOT NULL DEFAULT 0,
+    revoked BOOLEAN NOT NULL DEFAULT false,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_user_token_versions_updated_at ON user_token_versions(updated_at);
+
+-- Jetons de rafraîchissement opaques (empreinte SHA-256 uniquement), à usage unique.
+-- Une famille regroupe les jetons issus d'une même connexion : la réutilisation
+-- d'un jeton consommé supprime toute la famille. Purge périodique sur expires_at.
+CREATE TABLE refresh_tokens (
+    token_hash VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    family_id UUID NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+
+-- Nom de compétence unique sans tenir compte de la casse : résolution groupée
+-- des compétences (SkillResolver, INSERT ... ON CONFLICT ((lower(name))) DO NOTHING).
+-- Les doublons existants doivent être fusionnés avant la création de l'index.
+CREATE UNIQUE INDEX idx_skills_lower_name ON skills (lower(name));
+
+-- Identifiants générés par séquence avec l'optimiseur "pooled" de Hibernate
+-- (allocationSize = 50) : un appel à nextval réserve 50 identifiants, ce qui
+-- permet le regroupement des INSERT en lots JDBC. Les valeurs par défaut des
+-- colonnes BIGSERIAL restent utilisables par les insertions natives.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE skills_id_seq INCREMENT BY 50;
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+ALTER SEQUENCE notifications_id_seq INCREMENT BY 50;
+ALTER SEQUENCE collaborators_id_seq INCREMENT BY 50;
+ALTER SEQUENCE assignments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE kpi_snapshots_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS project_alerts_id_seq INCREMENT BY 50;
@@ -1,23 +1,50 @@
 package com.staffing.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.staffing.service.CollaboratorService;
+import com.staffing.service.DashboardService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheSpecProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
-            "users",
-            "userDetails",
-            "userRoles",
-            "currentUser"
+    public CacheManager cacheManager(CacheSpecProperties cacheSpecs,
+                                     ObjectProvider<DashboardService> dashboardService,
+                                     ObjectProvider<CollaboratorService> collaboratorService) {
+        // Chargeurs utilisés par refreshAfterWrite : la valeur périmée reste servie
+        // pendant que le recalcul s'exécute en arrière-plan
+        Map<String, CacheLoader<Object, Object>> loaders = Map.of(
+            "dashboardStats", key -> dashboardService.getObject().loadDashboardData(),
+            "collaboratorStats", key -> collaboratorService.getObject().loadCollaboratorStatistics()
         );
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(cacheSpecs.getDefaultSpec()));
+
+        cacheSpecs.getSpecs().forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = Caffeine.from(spec);
+            CacheLoader<Object, Object> loader = loaders.get(name);
+            if (loader != null) {
+                cacheManager.registerCustomCache(name, builder.build(loader));
+            } else if (spec.contains("refreshAfterWrite")) {
+                throw new IllegalStateException("Aucun chargeur défini pour le cache rafraîchi: " + name);
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        });
         return cacheManager;
     }
-} 
\ No newline at end of file
+}
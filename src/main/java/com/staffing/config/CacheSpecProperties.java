@@ -0,0 +1,32 @@
+package com.staffing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Spécifications Caffeine par cache (taille maximale, TTL, rafraîchissement).
+ * Exemple : app.cache.specs.dashboardStats=maximumSize=10,expireAfterWrite=10m,refreshAfterWrite=30s
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSpecProperties {
+    private String defaultSpec = "maximumSize=500,expireAfterWrite=10m,recordStats";
+    private Map<String, String> specs = new LinkedHashMap<>();
+
+    public String getDefaultSpec() {
+        return defaultSpec;
+    }
+
+    public void setDefaultSpec(String defaultSpec) {
+        this.defaultSpec = defaultSpec;
+    }
+
+    public Map<String, String> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, String> specs) {
+        this.specs = specs;
+    }
+}
@@ -1,6 +1,7 @@
 package com.staffing.config;
 
 import com.staffing.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +14,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -21,12 +23,15 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+    private static final String PASSWORD_ENCODER_ID = "bcrypt";
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
@@ -53,6 +58,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Fin d'une réponse asynchrone (flux) : la requête d'origine a déjà été autorisée
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/api/dashboard/**").hasAnyRole("ADMIN", "MANAGER", "USER")
@@ -81,7 +88,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList(allowedMethods.split(",")));
         configuration.setAllowedHeaders(Arrays.asList(allowedHeaders.split(",")));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Link", "X-Total-Count"));
         configuration.setAllowCredentials(allowCredentials);
         configuration.setMaxAge(maxAge);
 
@@ -95,8 +102,17 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Les nouveaux hachages sont préfixés {bcrypt} et utilisent le coût configuré.
+     * Les anciens hachages sans préfixe restent vérifiés par BCrypt ; ils sont
+     * re-hachés à la connexion suivante (voir CustomUserDetailsService.updatePassword).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt-strength:10}") int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PASSWORD_ENCODER_ID, new BCryptPasswordEncoder(bcryptStrength));
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(PASSWORD_ENCODER_ID, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 } 
\ No newline at end of file
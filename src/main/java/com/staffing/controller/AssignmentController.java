@@ -1,12 +1,28 @@
 package com.staffing.controller;
 
 import com.staffing.dto.AssignmentDTO;
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
+import com.staffing.dto.ReleaseForecastDTO;
+import com.staffing.dto.ReleaseSummaryDTO;
+import com.staffing.model.Assignment;
+import com.staffing.model.enums.ProjectStatus;
+import com.staffing.repository.specification.AssignmentSpecifications;
 import com.staffing.service.AssignmentService;
+import com.staffing.service.CsvExportService;
+import com.staffing.service.ReleaseForecastService;
+import com.staffing.util.ExportUtil;
+import com.staffing.util.JsonStreamWriter;
+import com.staffing.util.PaginationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,10 +33,48 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AssignmentController {
     private final AssignmentService assignmentService;
+    private final ReleaseForecastService releaseForecastService;
+    private final ObjectMapper objectMapper;
+    private final CsvExportService csvExportService;
 
     @GetMapping
-    public ResponseEntity<List<AssignmentDTO>> getAllAssignments() {
-        return ResponseEntity.ok(assignmentService.getAllAssignments());
+    public ResponseEntity<StreamingResponseBody> getAllAssignments(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Tableau JSON (ou NDJSON) écrit au fil de la lecture de la table
+        return JsonStreamWriter.response(objectMapper, accept, assignmentService::streamAllAssignments);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<AssignmentDTO>> getAllAssignmentsPage(KeysetPageRequest pageRequest) {
+        return keysetPage(AssignmentSpecifications.all(), pageRequest);
+    }
+
+    // Curseur seul (limit par défaut) : pagination keyset aussi, comme KeysetPageRequest.isKeyset()
+    @GetMapping(params = {"cursor", "!limit"})
+    public ResponseEntity<List<AssignmentDTO>> getAllAssignmentsPageByCursor(KeysetPageRequest pageRequest) {
+        return getAllAssignmentsPage(pageRequest);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<StreamingResponseBody> exportAssignments(
+            @RequestParam(required = false) Long collaboratorId,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) List<ProjectStatus> projectStatus,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Specification<Assignment> spec = AssignmentSpecifications.all();
+        if (collaboratorId != null) {
+            spec = spec.and(AssignmentSpecifications.ofCollaborator(collaboratorId));
+        }
+        if (projectId != null) {
+            spec = spec.and(AssignmentSpecifications.ofProject(projectId));
+        }
+        if (projectStatus != null && !projectStatus.isEmpty()) {
+            spec = spec.and(AssignmentSpecifications.projectStatusIn(projectStatus));
+        }
+        Specification<Assignment> filter = spec;
+        return ExportUtil.csvAttachment("assignments.csv", acceptEncoding,
+                out -> csvExportService.exportAssignments(filter, out));
     }
 
     @GetMapping("/{id}")
@@ -29,12 +83,20 @@ public class AssignmentController {
     }
 
     @GetMapping("/collaborator/{collaboratorId}")
-    public ResponseEntity<List<AssignmentDTO>> getAssignmentsByCollaborator(@PathVariable Long collaboratorId) {
+    public ResponseEntity<List<AssignmentDTO>> getAssignmentsByCollaborator(@PathVariable Long collaboratorId,
+                                                                            KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(AssignmentSpecifications.ofCollaborator(collaboratorId), pageRequest);
+        }
         return ResponseEntity.ok(assignmentService.getAssignmentsByCollaboratorId(collaboratorId));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<AssignmentDTO>> getAssignmentsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<AssignmentDTO>> getAssignmentsByProject(@PathVariable Long projectId,
+                                                                       KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(AssignmentSpecifications.ofProject(projectId), pageRequest);
+        }
         return ResponseEntity.ok(assignmentService.getAssignmentsByProjectId(projectId));
     }
 
@@ -57,29 +119,25 @@ public class AssignmentController {
     }
 
     @PutMapping("/project/{projectId}/remove-collaborators")
-    public ResponseEntity<Void> removeCollaboratorsFromProject(
+    public ResponseEntity<ReleaseSummaryDTO> removeCollaboratorsFromProject(
             @PathVariable Long projectId,
             @RequestBody List<Long> collaboratorIds) {
-        assignmentService.removeCollaboratorsFromProject(projectId, collaboratorIds);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(assignmentService.removeCollaboratorsFromProject(projectId, collaboratorIds));
     }
 
     @PutMapping("/project/{projectId}/remove-all")
-    public ResponseEntity<Void> removeAllCollaboratorsFromProject(@PathVariable Long projectId) {
-        assignmentService.removeAllCollaboratorsFromProject(projectId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ReleaseSummaryDTO> removeAllCollaboratorsFromProject(@PathVariable Long projectId) {
+        return ResponseEntity.ok(assignmentService.removeAllCollaboratorsFromProject(projectId));
     }
 
     @PutMapping("/collaborator/{collaboratorId}/remove-all")
-    public ResponseEntity<Void> removeCollaboratorFromAllProjects(@PathVariable Long collaboratorId) {
-        assignmentService.removeCollaboratorFromAllProjects(collaboratorId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ReleaseSummaryDTO> removeCollaboratorFromAllProjects(@PathVariable Long collaboratorId) {
+        return ResponseEntity.ok(assignmentService.removeCollaboratorFromAllProjects(collaboratorId));
     }
 
     @PutMapping("/remove-ending")
-    public ResponseEntity<Void> removeCollaboratorsFromEndingProjects() {
-        assignmentService.removeCollaboratorsFromEndingProjects();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ReleaseSummaryDTO> removeCollaboratorsFromEndingProjects() {
+        return ResponseEntity.ok(assignmentService.removeCollaboratorsFromEndingProjects());
     }
 
     @GetMapping("/removal-stats")
@@ -88,8 +146,26 @@ public class AssignmentController {
         return ResponseEntity.ok(assignmentService.getRemovalStatistics());
     }
 
+    @GetMapping("/release-forecast")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<ReleaseForecastDTO> getReleaseForecast(@RequestParam(defaultValue = "8") int weeks) {
+        return ResponseEntity.ok(releaseForecastService.getReleaseForecast(weeks));
+    }
+
     @GetMapping("/active")
-    public ResponseEntity<List<AssignmentDTO>> getActiveAssignments() {
+    public ResponseEntity<List<AssignmentDTO>> getActiveAssignments(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(AssignmentSpecifications.projectStatusIn(
+                    List.of(ProjectStatus.EN_DEMARRAGE, ProjectStatus.EN_COURS, ProjectStatus.EN_PAUSE)), pageRequest);
+        }
         return ResponseEntity.ok(assignmentService.getActiveAssignments());
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<List<AssignmentDTO>> keysetPage(Specification<Assignment> spec,
+                                                           KeysetPageRequest pageRequest) {
+        KeysetPage<AssignmentDTO> page = assignmentService.getAssignmentsPage(spec, pageRequest);
+        return ResponseEntity.ok()
+                .headers(PaginationUtil.generateKeysetHeaders(page))
+                .body(page.getContent());
+    }
+}
@@ -3,15 +3,20 @@ package com.staffing.controller;
 import com.staffing.dto.ApiResponse;
 import com.staffing.dto.AuthResponseDTO;
 import com.staffing.dto.LoginDTO;
+import com.staffing.dto.RefreshTokenRequestDTO;
 import com.staffing.dto.UserDTO;
 import com.staffing.service.AuthService;
+import com.staffing.service.CredentialVerificationService;
+import com.staffing.service.RefreshTokenService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/auth")
@@ -19,21 +24,29 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final CredentialVerificationService credentialVerificationService;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponseDTO>> login(@Valid @RequestBody LoginDTO loginDTO) {
-        AuthResponseDTO response = authService.login(loginDTO);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponseDTO>>> login(@Valid @RequestBody LoginDTO loginDTO) {
+        // Le thread de requête est libéré pendant la vérification du mot de passe
+        return credentialVerificationService.submit(() -> authService.login(loginDTO))
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response)));
     }
 
-    @PostMapping("/refresh-token")
-    public ResponseEntity<ApiResponse<AuthResponseDTO>> refreshToken() {
-        AuthResponseDTO response = authService.refreshToken();
+    // Rotation : le jeton de rafraîchissement présenté est consommé et remplacé
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponseDTO>> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        AuthResponseDTO response = refreshTokenService.rotate(request.getRefreshToken());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Map<String, String>>> logout() {
+    public ResponseEntity<ApiResponse<Map<String, String>>> logout(
+            @RequestBody(required = false) RefreshTokenRequestDTO request) {
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
         authService.logout();
         return ResponseEntity.ok(ApiResponse.success(Map.of("message", "Déconnexion réussie")));
     }
@@ -61,4 +74,10 @@ public class AuthController {
         UserDTO user = authService.getCurrentUserDTO();
         return ResponseEntity.ok(ApiResponse.success(user));
     }
+
+    @GetMapping("/credential-metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCredentialMetrics() {
+        return ResponseEntity.ok(ApiResponse.success(credentialVerificationService.getMetrics()));
+    }
 } 
\ No newline at end of file
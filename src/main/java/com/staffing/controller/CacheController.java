@@ -0,0 +1,24 @@
+package com.staffing.controller;
+
+import com.staffing.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStatistics());
+    }
+}
@@ -1,14 +1,33 @@
 package com.staffing.controller;
 
+import com.staffing.dto.BulkActivationReportDTO;
 import com.staffing.dto.CollaboratorDTO;
+import com.staffing.dto.CsvImportReportDTO;
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
+import com.staffing.model.Collaborator;
+import com.staffing.model.enums.CollaboratorStatus;
+import com.staffing.repository.specification.CollaboratorSpecifications;
 import com.staffing.service.CollaboratorService;
+import com.staffing.service.CsvExportService;
+import com.staffing.service.CsvImportService;
+import com.staffing.util.ExportUtil;
+import com.staffing.util.JsonStreamWriter;
+import com.staffing.util.PaginationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -22,9 +41,21 @@ public class CollaboratorController {
     @Autowired
     private CollaboratorService collaboratorService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CsvImportService csvImportService;
+
+    @Autowired
+    private CsvExportService csvExportService;
+
     @GetMapping
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<CollaboratorDTO>> getAllCollaborators() {
+    public ResponseEntity<List<CollaboratorDTO>> getAllCollaborators(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.all(), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.getAllCollaborators());
     }
 
@@ -36,14 +67,23 @@ public class CollaboratorController {
 
     @GetMapping("/search")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<CollaboratorDTO>> searchCollaborators(@RequestParam String query) {
+    public ResponseEntity<List<CollaboratorDTO>> searchCollaborators(@RequestParam String query,
+                                                                     KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.nameOrEmailContains(query), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.searchCollaborators(query));
     }
 
     @GetMapping("/available")
     @PreAuthorize("@authService.canRead()")
     public ResponseEntity<List<CollaboratorDTO>> getAvailableCollaborators(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.hasStatus(CollaboratorStatus.DISPONIBLE)
+                    .and(CollaboratorSpecifications.freeDuring(date, date)), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.getAvailableCollaborators(date));
     }
 
@@ -51,7 +91,11 @@ public class CollaboratorController {
     @PreAuthorize("@authService.canRead()")
     public ResponseEntity<List<CollaboratorDTO>> getAvailableCollaboratorsForPeriod(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.freeDuring(startDate, endDate), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.getAvailableCollaboratorsForPeriod(startDate, endDate));
     }
 
@@ -59,13 +103,21 @@ public class CollaboratorController {
     @PreAuthorize("@authService.canRead()")
     public ResponseEntity<List<CollaboratorDTO>> getCollaboratorsBySkill(
             @RequestParam String skillName,
-            @RequestParam(required = false, defaultValue = "0") Integer minLevel) {
+            @RequestParam(required = false, defaultValue = "0") Integer minLevel,
+            KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.hasSkill(skillName), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.getCollaboratorsBySkill(skillName, minLevel));
     }
 
     @GetMapping("/project/{projectId}")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<CollaboratorDTO>> getCollaboratorsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<CollaboratorDTO>> getCollaboratorsByProject(@PathVariable Long projectId,
+                                                                           KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.assignedToProject(projectId), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.getCollaboratorsByProject(projectId));
     }
 
@@ -75,6 +127,38 @@ public class CollaboratorController {
         return ResponseEntity.ok(collaboratorService.createCollaborator(collaboratorDTO));
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<StreamingResponseBody> exportCollaborators(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) CollaboratorStatus status,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String query,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Specification<Collaborator> spec = CollaboratorSpecifications.all();
+        if (active != null) {
+            spec = spec.and(CollaboratorSpecifications.active(active));
+        }
+        if (status != null) {
+            spec = spec.and(CollaboratorSpecifications.hasStatus(status));
+        }
+        if (skill != null && !skill.isBlank()) {
+            spec = spec.and(CollaboratorSpecifications.hasSkill(skill));
+        }
+        if (query != null && !query.isBlank()) {
+            spec = spec.and(CollaboratorSpecifications.nameOrEmailContains(query));
+        }
+        Specification<Collaborator> filter = spec;
+        return ExportUtil.csvAttachment("collaborators.csv", acceptEncoding,
+                out -> csvExportService.exportCollaborators(filter, out));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("@authService.canWrite()")
+    public ResponseEntity<CsvImportReportDTO> importCollaborators(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(csvImportService.importCollaborators(file.getInputStream()));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("@authService.canWrite()")
     public ResponseEntity<CollaboratorDTO> updateCollaborator(
@@ -102,21 +186,54 @@ public class CollaboratorController {
         return ResponseEntity.ok(collaboratorService.reactivateCollaborator(id));
     }
 
+    @PutMapping("/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkActivationReportDTO> deactivateCollaborators(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(collaboratorService.deactivateCollaborators(ids));
+    }
+
+    @PutMapping("/reactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkActivationReportDTO> reactivateCollaborators(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(collaboratorService.reactivateCollaborators(ids));
+    }
+
     @GetMapping("/all")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<CollaboratorDTO>> getAllCollaboratorsIncludingInactive() {
-        return ResponseEntity.ok(collaboratorService.getAllCollaborators());
+    public ResponseEntity<StreamingResponseBody> getAllCollaboratorsIncludingInactive(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Tableau JSON (ou NDJSON) écrit au fil de la lecture de la table
+        return JsonStreamWriter.response(objectMapper, accept, collaboratorService::streamAllCollaborators);
+    }
+
+    @GetMapping(value = "/all", params = "limit")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<CollaboratorDTO>> getAllCollaboratorsIncludingInactivePage(KeysetPageRequest pageRequest) {
+        return keysetPage(CollaboratorSpecifications.all(), pageRequest);
+    }
+
+    // Curseur seul (limit par défaut) : pagination keyset aussi, comme KeysetPageRequest.isKeyset()
+    @GetMapping(value = "/all", params = {"cursor", "!limit"})
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<CollaboratorDTO>> getAllCollaboratorsIncludingInactivePageByCursor(KeysetPageRequest pageRequest) {
+        return getAllCollaboratorsIncludingInactivePage(pageRequest);
     }
 
     @GetMapping("/active")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<CollaboratorDTO>> getActiveCollaborators() {
+    public ResponseEntity<List<CollaboratorDTO>> getActiveCollaborators(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.active(true), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.getActiveCollaborators());
     }
 
     @GetMapping("/inactive")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<CollaboratorDTO>> getInactiveCollaborators() {
+    public ResponseEntity<List<CollaboratorDTO>> getInactiveCollaborators(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(CollaboratorSpecifications.active(false), pageRequest);
+        }
         return ResponseEntity.ok(collaboratorService.getInactiveCollaborators());
     }
 
@@ -139,4 +256,12 @@ public class CollaboratorController {
         
         return ResponseEntity.ok(statistics);
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<List<CollaboratorDTO>> keysetPage(Specification<Collaborator> spec,
+                                                             KeysetPageRequest pageRequest) {
+        KeysetPage<CollaboratorDTO> page = collaboratorService.getCollaboratorsPage(spec, pageRequest);
+        return ResponseEntity.ok()
+                .headers(PaginationUtil.generateKeysetHeaders(page))
+                .body(page.getContent());
+    }
+}
@@ -1,23 +1,43 @@
 package com.staffing.controller;
 
 import com.staffing.dto.DashboardDTO;
+import com.staffing.dto.KpiSnapshotDTO;
 import com.staffing.service.DashboardService;
+import com.staffing.service.KpiSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private KpiSnapshotService kpiSnapshotService;
+
     @GetMapping
     @PreAuthorize("@authService.canRead()")
     public ResponseEntity<DashboardDTO> getDashboardData() {
         return ResponseEntity.ok(dashboardService.getDashboardData());
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/trends")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<KpiSnapshotDTO>> getTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        return ResponseEntity.ok(kpiSnapshotService.getTrends(start, end));
+    }
+}
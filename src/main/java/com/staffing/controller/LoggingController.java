@@ -0,0 +1,57 @@
+package com.staffing.controller;
+
+import com.staffing.exception.ErrorResponse;
+import com.staffing.service.LogLevelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/logging")
+@RequiredArgsConstructor
+public class LoggingController {
+    private final LogLevelService logLevelService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getConfiguration() {
+        return ResponseEntity.ok(logLevelService.getConfiguration());
+    }
+
+    // Corps {"level": "DEBUG"} ; un niveau absent rétablit l'héritage
+    @PutMapping("/levels/{loggerName}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> setLevel(@PathVariable String loggerName, @RequestBody Map<String, String> body) {
+        try {
+            logLevelService.setLevel(loggerName, body.get("level"));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+        return ResponseEntity.ok(logLevelService.getConfiguration());
+    }
+
+    // Corps {"rate": 0.05} : part des requêtes dont les logs DEBUG sont conservés
+    @PutMapping("/debug-sample-rate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> setDebugSampleRate(@RequestBody Map<String, Double> body) {
+        Double rate = body.get("rate");
+        if (rate == null) {
+            return badRequest("Taux d'échantillonnage requis");
+        }
+        try {
+            logLevelService.setDebugSampleRate(rate);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+        return ResponseEntity.ok(logLevelService.getConfiguration());
+    }
+
+    private ResponseEntity<ErrorResponse> badRequest(String message) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Configuration de log invalide", message));
+    }
+}
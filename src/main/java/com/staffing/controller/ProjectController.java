@@ -1,22 +1,38 @@
 package com.staffing.controller;
 
+import com.staffing.dto.BulkActivationReportDTO;
+import com.staffing.dto.CsvImportReportDTO;
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
 import com.staffing.dto.ProjectDTO;
 import com.staffing.dto.ProjectFilterDTO;
 import com.staffing.dto.ProjectStatisticsDTO;
 import com.staffing.dto.ProjectSearchCriteria;
 import com.staffing.model.Project;
 import com.staffing.model.enums.ProjectStatus;
+import com.staffing.repository.specification.ProjectSpecifications;
+import com.staffing.service.CsvExportService;
+import com.staffing.service.CsvImportService;
 import com.staffing.service.ProjectService;
 import com.staffing.service.ProjectSearchService;
+import com.staffing.util.ExportUtil;
+import com.staffing.util.JsonStreamWriter;
 import com.staffing.util.PaginationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
@@ -30,16 +46,27 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final ProjectSearchService projectSearchService;
+    private final ObjectMapper objectMapper;
+    private final CsvImportService csvImportService;
+    private final CsvExportService csvExportService;
 
     @Autowired
-    public ProjectController(ProjectService projectService, ProjectSearchService projectSearchService) {
+    public ProjectController(ProjectService projectService, ProjectSearchService projectSearchService,
+                             ObjectMapper objectMapper, CsvImportService csvImportService,
+                             CsvExportService csvExportService) {
         this.projectService = projectService;
         this.projectSearchService = projectSearchService;
+        this.objectMapper = objectMapper;
+        this.csvImportService = csvImportService;
+        this.csvExportService = csvExportService;
     }
 
     @GetMapping
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> getAllProjects() {
+    public ResponseEntity<List<ProjectDTO>> getAllProjects(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.active(true), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getAllProjects());
     }
 
@@ -51,19 +78,32 @@ public class ProjectController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> getProjectsByStatus(@PathVariable ProjectStatus status) {
+    public ResponseEntity<List<ProjectDTO>> getProjectsByStatus(@PathVariable ProjectStatus status,
+                                                                KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.hasStatus(status), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getProjectsByStatus(status));
     }
 
     @GetMapping("/client/{client}")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> getProjectsByClient(@PathVariable String client) {
+    public ResponseEntity<List<ProjectDTO>> getProjectsByClient(@PathVariable String client,
+                                                                KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.hasClient(client), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getProjectsByClient(client));
     }
 
     @GetMapping("/search")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> searchProjects(@Valid ProjectSearchCriteria criteria) {
+    public ResponseEntity<List<ProjectDTO>> searchProjects(@Valid ProjectSearchCriteria criteria,
+                                                           KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetResponse(projectService.searchProjects(criteria, pageRequest));
+        }
+
         Page<Project> projectPage = projectService.searchProjects(criteria);
         List<ProjectDTO> projects = projectPage.getContent().stream()
                 .map(ProjectDTO::fromEntity)
@@ -91,6 +131,22 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.createProject(projectDTO));
     }
 
+    // Export CSV avec les filtres de /filter (pagination et tri ignorés)
+    @GetMapping("/export")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @Valid ProjectFilterDTO filter,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ExportUtil.csvAttachment("projects.csv", acceptEncoding,
+                out -> csvExportService.exportProjects(filter, out));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CsvImportReportDTO> importProjects(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(csvImportService.importProjects(file.getInputStream()));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProjectDTO> updateProject(
@@ -113,48 +169,84 @@ public class ProjectController {
 
     @GetMapping("/all")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> getAllProjectsIncludingInactive() {
-        return ResponseEntity.ok(projectService.getAllProjectsIncludingInactive());
+    public ResponseEntity<StreamingResponseBody> getAllProjectsIncludingInactive(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Tableau JSON (ou NDJSON) écrit au fil de la lecture de la table
+        return JsonStreamWriter.response(objectMapper, accept, projectService::streamAllProjects);
+    }
+
+    @GetMapping(value = "/all", params = "limit")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<ProjectDTO>> getAllProjectsIncludingInactivePage(KeysetPageRequest pageRequest) {
+        return keysetPage(ProjectSpecifications.all(), pageRequest);
+    }
+
+    // Curseur seul (limit par défaut) : pagination keyset aussi, comme KeysetPageRequest.isKeyset()
+    @GetMapping(value = "/all", params = {"cursor", "!limit"})
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<ProjectDTO>> getAllProjectsIncludingInactivePageByCursor(KeysetPageRequest pageRequest) {
+        return getAllProjectsIncludingInactivePage(pageRequest);
     }
 
     @GetMapping("/active")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> getActiveProjects() {
+    public ResponseEntity<List<ProjectDTO>> getActiveProjects(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.active(true), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getActiveProjects());
     }
 
     @GetMapping("/inactive")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> getInactiveProjects() {
+    public ResponseEntity<List<ProjectDTO>> getInactiveProjects(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.active(false), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getInactiveProjects());
     }
 
     @GetMapping("/in-progress")
     @PreAuthorize("@authService.canRead()")
-    public ResponseEntity<List<ProjectDTO>> getInProgressProjects() {
+    public ResponseEntity<List<ProjectDTO>> getInProgressProjects(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.inProgress(LocalDate.now()), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getInProgressProjects());
     }
 
     @GetMapping("/skill/{skillName}")
-    public ResponseEntity<List<ProjectDTO>> getProjectsBySkill(@PathVariable String skillName) {
+    public ResponseEntity<List<ProjectDTO>> getProjectsBySkill(@PathVariable String skillName,
+                                                               KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.hasAnySkill(List.of(skillName)), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getProjectsBySkill(skillName));
     }
 
     @GetMapping("/collaborator/{collaboratorId}")
-    public ResponseEntity<List<ProjectDTO>> getProjectsByCollaborator(@PathVariable Long collaboratorId) {
+    public ResponseEntity<List<ProjectDTO>> getProjectsByCollaborator(@PathVariable Long collaboratorId,
+                                                                      KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.assignedTo(collaboratorId), pageRequest);
+        }
         return ResponseEntity.ok(projectService.getProjectsByCollaborator(collaboratorId));
     }
 
     @GetMapping("/critical")
-    public ResponseEntity<List<ProjectDTO>> getCriticalProjects() {
-        List<ProjectDTO> projects = projectService.getCriticalProjects().stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<List<ProjectDTO>> getCriticalProjects(KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.critical(LocalDate.now()), pageRequest);
+        }
+        return ResponseEntity.ok(projectService.getCriticalProjects());
     }
 
     @GetMapping("/by-skills")
-    public ResponseEntity<List<ProjectDTO>> getProjectsBySkills(@RequestParam List<String> skills) {
+    public ResponseEntity<List<ProjectDTO>> getProjectsBySkills(@RequestParam List<String> skills,
+                                                                KeysetPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return keysetPage(ProjectSpecifications.hasAnySkill(skills), pageRequest);
+        }
         List<ProjectDTO> projects = projectService.getProjectsBySkills(skills).stream()
                 .map(ProjectDTO::fromEntity)
                 .collect(Collectors.toList());
@@ -172,6 +264,22 @@ public class ProjectController {
                 .body(dtoPage);
     }
 
+    // Variante keyset de /filter et /search/advanced, sélectionnée par la présence du paramètre limit
+    @GetMapping(value = {"/filter", "/search/advanced"}, params = "limit")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<ProjectDTO>> filterProjectsByCursor(@Valid ProjectFilterDTO filter,
+                                                                   KeysetPageRequest pageRequest) {
+        return keysetResponse(projectSearchService.searchProjects(filter, pageRequest));
+    }
+
+    // ... ou du seul paramètre cursor (limit par défaut)
+    @GetMapping(value = {"/filter", "/search/advanced"}, params = {"cursor", "!limit"})
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<ProjectDTO>> filterProjectsByCursorOnly(@Valid ProjectFilterDTO filter,
+                                                                       KeysetPageRequest pageRequest) {
+        return filterProjectsByCursor(filter, pageRequest);
+    }
+
     @GetMapping("/search/advanced")
     @PreAuthorize("@authService.canRead()")
     public ResponseEntity<Page<ProjectDTO>> advancedSearch(
@@ -211,9 +319,31 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.reactivateProject(id));
     }
 
+    @PutMapping("/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkActivationReportDTO> deactivateProjects(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(projectService.deactivateProjects(ids));
+    }
+
+    @PutMapping("/reactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkActivationReportDTO> reactivateProjects(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(projectService.reactivateProjects(ids));
+    }
+
     @GetMapping("/statistics")
     @PreAuthorize("@authService.canRead()")
     public ResponseEntity<ProjectStatisticsDTO> getProjectStatistics() {
         return ResponseEntity.ok(projectService.getProjectStatistics());
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<List<ProjectDTO>> keysetPage(Specification<Project> spec, KeysetPageRequest pageRequest) {
+        return keysetResponse(projectService.getProjectsPage(spec, pageRequest));
+    }
+
+    private ResponseEntity<List<ProjectDTO>> keysetResponse(KeysetPage<ProjectDTO> page) {
+        return ResponseEntity.ok()
+                .headers(PaginationUtil.generateKeysetHeaders(page))
+                .body(page.getContent());
+    }
+}
@@ -1,6 +1,10 @@
 package com.staffing.controller;
 
 import com.staffing.dto.SkillDTO;
+import com.staffing.dto.SkillGapDTO;
+import com.staffing.dto.SkillUsageDTO;
+import com.staffing.service.SkillAnalyticsService;
+import com.staffing.service.SkillGapService;
 import com.staffing.service.SkillService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +23,12 @@ public class SkillController {
     @Autowired
     private SkillService skillService;
 
+    @Autowired
+    private SkillAnalyticsService skillAnalyticsService;
+
+    @Autowired
+    private SkillGapService skillGapService;
+
     @GetMapping
     @PreAuthorize("@authService.canRead()")
     public ResponseEntity<List<SkillDTO>> getAllSkills() {
@@ -69,4 +79,31 @@ public class SkillController {
     public ResponseEntity<List<SkillDTO>> searchSkills(@RequestParam String query) {
         return ResponseEntity.ok(skillService.searchSkills(query));
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/analytics/histogram")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<SkillUsageDTO>> getSkillHistogram() {
+        return ResponseEntity.ok(skillAnalyticsService.getSkillHistogram());
+    }
+
+    @GetMapping("/analytics/top")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<SkillUsageDTO>> getMostUsedSkills(
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(skillAnalyticsService.getMostUsedSkills(limit));
+    }
+
+    @GetMapping("/analytics/bottom")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<SkillUsageDTO>> getLeastUsedSkills(
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(skillAnalyticsService.getLeastUsedSkills(limit));
+    }
+
+    @GetMapping("/gaps")
+    @PreAuthorize("@authService.canRead()")
+    public ResponseEntity<List<SkillGapDTO>> getSkillGaps(
+            @RequestParam(defaultValue = "false") boolean uncoveredOnly) {
+        return ResponseEntity.ok(skillGapService.getSkillGaps(uncoveredOnly));
+    }
+}
@@ -33,6 +33,23 @@ public class AssignmentDTO {
     private ProjectStatus projectStatus;
     private boolean projectActive;
 
+    // Projection des listes (SELECT new ...) : lu sans charger d'entités
+    public AssignmentDTO(Long id, Long collaboratorId, Long projectId, String role, String notes,
+                         String collaboratorName, String projectName, LocalDate projectStartDate,
+                         LocalDate projectEndDate, ProjectStatus projectStatus, boolean projectActive) {
+        this.id = id;
+        this.collaboratorId = collaboratorId;
+        this.projectId = projectId;
+        this.role = role;
+        this.notes = notes;
+        this.collaboratorName = collaboratorName;
+        this.projectName = projectName;
+        this.projectStartDate = projectStartDate;
+        this.projectEndDate = projectEndDate;
+        this.projectStatus = projectStatus;
+        this.projectActive = projectActive;
+    }
+
     public static AssignmentDTO fromEntity(Assignment assignment) {
         AssignmentDTO dto = new AssignmentDTO();
         dto.setId(assignment.getId());
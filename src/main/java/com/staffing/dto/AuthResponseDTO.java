@@ -6,10 +6,16 @@ import lombok.Data;
 @Data
 public class AuthResponseDTO {
     private String token;
+    private String refreshToken;
     private UserDTO user;
 
     public AuthResponseDTO(String token, User user) {
         this.token = token;
         this.user = UserDTO.fromEntity(user);
     }
-} 
\ No newline at end of file
+
+    public AuthResponseDTO(String token, String refreshToken, User user) {
+        this(token, user);
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,40 @@
+package com.staffing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan d'une désactivation ou réactivation en masse : nombre d'identifiants
+ * demandés, nombre de lignes modifiées et résultat de chaque identifiant.
+ */
+@Data
+@NoArgsConstructor
+public class BulkActivationReportDTO {
+    private int requested;
+    private int updated;
+    private List<Outcome> outcomes = new ArrayList<>();
+
+    public void addOutcome(Long id, Status status, String message) {
+        outcomes.add(new Outcome(id, status, message));
+    }
+
+    public enum Status {
+        UPDATED,
+        BLOCKED,
+        NOT_FOUND
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Outcome {
+        private Long id;
+        private Status status;
+        // Motif du refus, null si l'identifiant a été modifié
+        private String message;
+    }
+}
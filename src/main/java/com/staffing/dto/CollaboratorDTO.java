@@ -32,7 +32,7 @@ public class CollaboratorDTO {
     private String grade;
 
     @NotBlank(message = "Le numéro de téléphone est requis")
-    @Pattern(regexp = "^[+]?[(]?[0-9]{1,4}[)]?[-\\s./0-9]*$", message = "Le format du numéro de téléphone est invalide")
+    @Pattern(regexp = Collaborator.PHONE_REGEXP, message = "Le format du numéro de téléphone est invalide")
     private String phone;
 
     @NotNull(message = "Le statut est requis")
@@ -58,6 +58,20 @@ public class CollaboratorDTO {
     private Set<AssignmentDTO> assignments;
     private boolean active;
 
+    // Projection des listes (SELECT new ...) : les compétences sont complétées par le service
+    public CollaboratorDTO(Long id, String name, String email, String role, String grade, String phone,
+                           CollaboratorStatus status, Integer experienceYears, boolean active) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.grade = grade;
+        this.phone = phone;
+        this.status = status;
+        this.experienceYears = experienceYears;
+        this.active = active;
+    }
+
     public static CollaboratorDTO fromEntity(Collaborator collaborator) {
         CollaboratorDTO dto = new CollaboratorDTO();
         dto.setId(collaborator.getId());
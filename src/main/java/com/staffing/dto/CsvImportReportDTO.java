@@ -0,0 +1,34 @@
+package com.staffing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan d'un import CSV : lignes lues, lignes importées, compétences créées
+ * et motif de rejet de chaque ligne écartée.
+ */
+@Data
+@NoArgsConstructor
+public class CsvImportReportDTO {
+    private int totalRows;
+    private int importedRows;
+    private int skillsCreated;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(long line, String message) {
+        errors.add(new RowError(line, message));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // Numéro de ligne dans le fichier, en-tête compris
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,14 @@
+package com.staffing.dto;
+
+/**
+ * Résultat de la requête d'agrégation du tableau de bord : tous les compteurs
+ * sont calculés en une seule instruction SQL, sans charger d'entités.
+ */
+public record DashboardAggregate(
+        long totalActiveProjects,
+        long totalCollaborators,
+        long recentProjectUpdates,
+        long overdueProjects,
+        long newAssignments,
+        double overallProjectProgress) {
+}
@@ -0,0 +1,30 @@
+package com.staffing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> content;
+    private int limit;
+    // null sur la dernière page
+    private String nextCursor;
+    // null sauf si includeTotal=true
+    private Long totalElements;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new KeysetPage<>(mapped, limit, nextCursor, totalElements);
+    }
+}
@@ -0,0 +1,25 @@
+package com.staffing.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paramètres de pagination par curseur (keyset) : {@code ?limit=20&cursor=...}.
+ * Sans limit ni cursor, les listes sont renvoyées en entier comme auparavant.
+ */
+@Data
+@NoArgsConstructor
+public class KeysetPageRequest {
+    // Curseur opaque renvoyé dans le lien "next" de la page précédente
+    private String cursor;
+    private Integer limit;
+    // Propriété de tri ; ignorée lorsqu'un curseur est fourni (le curseur porte son propre tri)
+    private String sort;
+    private String direction;
+    // Le COUNT(*) n'est exécuté que sur demande
+    private boolean includeTotal;
+
+    public boolean isKeyset() {
+        return limit != null || cursor != null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.staffing.dto;
+
+import com.staffing.model.KpiSnapshot;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class KpiSnapshotDTO {
+    private LocalDateTime capturedAt;
+    private String resolution;
+    private int totalProjects;
+    private int totalActiveProjects;
+    private int completedProjects;
+    private int criticalProjects;
+    private int overdueProjects;
+    private int recentProjectUpdates;
+    private int totalCollaborators;
+    private int newAssignments;
+    private double overallProjectProgress;
+
+    public static KpiSnapshotDTO fromEntity(KpiSnapshot snapshot) {
+        KpiSnapshotDTO dto = new KpiSnapshotDTO();
+        dto.setCapturedAt(snapshot.getCapturedAt());
+        dto.setResolution(snapshot.getResolution().name());
+        dto.setTotalProjects(snapshot.getTotalProjects());
+        dto.setTotalActiveProjects(snapshot.getTotalActiveProjects());
+        dto.setCompletedProjects(snapshot.getCompletedProjects());
+        dto.setCriticalProjects(snapshot.getCriticalProjects());
+        dto.setOverdueProjects(snapshot.getOverdueProjects());
+        dto.setRecentProjectUpdates(snapshot.getRecentProjectUpdates());
+        dto.setTotalCollaborators(snapshot.getTotalCollaborators());
+        dto.setNewAssignments(snapshot.getNewAssignments());
+        dto.setOverallProjectProgress(snapshot.getOverallProjectProgress());
+        return dto;
+    }
+}
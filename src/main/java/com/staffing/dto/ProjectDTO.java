@@ -36,6 +36,25 @@ public class ProjectDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Projection des listes (SELECT new ...) : les compétences sont complétées par le service
+    public ProjectDTO(Long id, String name, String description, String client, String projectManager,
+                      LocalDate startDate, LocalDate endDate, Integer teamSize, ProjectStatus status,
+                      boolean active, double progress, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.client = client;
+        this.projectManager = projectManager;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.teamSize = teamSize;
+        this.status = status;
+        this.active = active;
+        this.progress = progress;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public static ProjectDTO fromEntity(Project project) {
         ProjectDTO dto = new ProjectDTO();
         dto.setId(project.getId());
@@ -0,0 +1,10 @@
+package com.staffing.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequestDTO {
+    @NotBlank(message = "Le jeton de rafraîchissement est requis")
+    private String refreshToken;
+}
@@ -0,0 +1,40 @@
+package com.staffing.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+@NoArgsConstructor
+public class ReleaseForecastDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private List<WeekForecast> weeks = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class WeekForecast {
+        private LocalDate weekStart;
+
+        // Affectations dont le projet se termine dans la semaine
+        private long endingAssignments;
+
+        // Collaborateurs distincts libérés dans la semaine
+        private long releasedCollaborators;
+
+        // Affectations se terminant, par rôle d'affectation
+        private Map<String, Long> endingAssignmentsByRole = new TreeMap<>();
+
+        // Collaborateurs libérés, par compétence (un collaborateur compte pour chacune de ses compétences)
+        private Map<String, Long> releasedCollaboratorsBySkill = new TreeMap<>();
+
+        public WeekForecast(LocalDate weekStart) {
+            this.weekStart = weekStart;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.staffing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bilan d'une libération d'affectations : affectations supprimées, collaborateurs
+ * repassés DISPONIBLE, nombre de lots exécutés et durée totale.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReleaseSummaryDTO {
+    private int releasedAssignments;
+    private int freedCollaborators;
+    private int chunks;
+    private long durationMs;
+}
@@ -0,0 +1,33 @@
+package com.staffing.dto;
+
+import com.staffing.model.SkillGap;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class SkillGapDTO {
+    private Long skillId;
+    private String name;
+    private String category;
+    private long demandingProjects;
+    private long openSlots;
+    private long availableCollaborators;
+    private long gap;
+    private LocalDateTime refreshedAt;
+
+    public static SkillGapDTO fromEntity(SkillGap skillGap) {
+        SkillGapDTO dto = new SkillGapDTO();
+        dto.setSkillId(skillGap.getSkillId());
+        dto.setName(skillGap.getSkillName());
+        dto.setCategory(skillGap.getCategory());
+        dto.setDemandingProjects(skillGap.getDemandingProjects());
+        dto.setOpenSlots(skillGap.getOpenSlots());
+        dto.setAvailableCollaborators(skillGap.getAvailableCollaborators());
+        dto.setGap(skillGap.getGap());
+        dto.setRefreshedAt(skillGap.getRefreshedAt());
+        return dto;
+    }
+}
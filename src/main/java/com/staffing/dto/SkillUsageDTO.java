@@ -0,0 +1,35 @@
+package com.staffing.dto;
+
+import com.staffing.repository.SkillRepository;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SkillUsageDTO {
+    private Long skillId;
+    private String name;
+    private String category;
+
+    // Offre : collaborateurs actifs possédant la compétence
+    private long collaboratorCount;
+
+    // Demande : projets actifs requérant la compétence
+    private long projectCount;
+
+    // Offre / demande, null si aucun projet ne requiert la compétence
+    private Double supplyDemandRatio;
+
+    public static SkillUsageDTO fromProjection(SkillRepository.SkillUsage usage) {
+        SkillUsageDTO dto = new SkillUsageDTO();
+        dto.setSkillId(usage.getSkillId());
+        dto.setName(usage.getName());
+        dto.setCategory(usage.getCategory());
+        dto.setCollaboratorCount(usage.getCollaboratorCount());
+        dto.setProjectCount(usage.getProjectCount());
+        if (usage.getProjectCount() > 0) {
+            dto.setSupplyDemandRatio((double) usage.getCollaboratorCount() / usage.getProjectCount());
+        }
+        return dto;
+    }
+}
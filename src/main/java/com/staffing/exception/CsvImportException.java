@@ -0,0 +1,7 @@
+package com.staffing.exception;
+
+public class CsvImportException extends RuntimeException {
+    public CsvImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.staffing.exception;
+
+public class InvalidPaginationException extends RuntimeException {
+    public InvalidPaginationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.staffing.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Active les logs DEBUG des paquets configurés pour les seules requêtes
+ * échantillonnées (voir RequestSamplingFilter), quel que soit le niveau
+ * des loggers. Hors échantillon, le niveau configuré s'applique normalement.
+ */
+public class DebugSamplingTurboFilter extends TurboFilter {
+
+    private String[] packages = new String[0];
+
+    // Liste séparée par des virgules, renseignée depuis logback-spring.xml
+    public void setPackages(String packages) {
+        this.packages = packages == null || packages.isBlank()
+                ? new String[0]
+                : packages.trim().split("\\s*,\\s*");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level != Level.DEBUG || MDC.get(RequestSamplingFilter.SAMPLED_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : packages) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
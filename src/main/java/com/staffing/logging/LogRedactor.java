@@ -0,0 +1,57 @@
+package com.staffing.logging;
+
+import java.util.regex.Pattern;
+
+/**
+ * Masque les secrets (JWT, en-tête Bearer, jetons et mots de passe en JSON ou
+ * sous la forme clé=valeur des toString Lombok) avant l'écriture d'un message.
+ * Les expressions régulières ne sont évaluées que si un indice est présent dans
+ * le message.
+ */
+public final class LogRedactor {
+
+    private static final String MASK = "***";
+
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]*");
+    private static final Pattern BEARER = Pattern.compile("(?i)(bearer\\s+)[A-Za-z0-9._~+/=-]+");
+    private static final Pattern JSON_SECRET = Pattern.compile(
+            "(?i)(\"(?:password|token|refreshToken)\"\\s*:\\s*\")[^\"]*(\")");
+    // LoginDTO(email=..., password=...) : la valeur s'arrête au champ suivant ou à la parenthèse fermante
+    private static final Pattern KEY_VALUE_SECRET = Pattern.compile(
+            "(?im)\\b((?:password|token|refreshToken)=).*?(?=, \\w+=|\\)|$)");
+
+    private LogRedactor() {
+    }
+
+    public static String redact(String message) {
+        if (message == null || message.isEmpty()) {
+            return message;
+        }
+        String redacted = message;
+        if (containsIgnoreCase(redacted, "bearer ")) {
+            redacted = BEARER.matcher(redacted).replaceAll("$1" + MASK);
+        }
+        if (redacted.contains("eyJ")) {
+            redacted = JWT.matcher(redacted).replaceAll("eyJ" + MASK);
+        }
+        if (redacted.indexOf('"') >= 0 && (containsIgnoreCase(redacted, "password")
+                || containsIgnoreCase(redacted, "token"))) {
+            redacted = JSON_SECRET.matcher(redacted).replaceAll("$1" + MASK + "$2");
+        }
+        if (redacted.indexOf('=') >= 0 && (containsIgnoreCase(redacted, "password")
+                || containsIgnoreCase(redacted, "token"))) {
+            redacted = KEY_VALUE_SECRET.matcher(redacted).replaceAll("$1" + MASK);
+        }
+        return redacted;
+    }
+
+    private static boolean containsIgnoreCase(String text, String fragment) {
+        int max = text.length() - fragment.length();
+        for (int i = 0; i <= max; i++) {
+            if (text.regionMatches(true, i, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
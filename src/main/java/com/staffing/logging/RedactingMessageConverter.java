@@ -0,0 +1,16 @@
+package com.staffing.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Équivalent de %msg appliquant LogRedactor ; déclaré dans logback-spring.xml
+ * sous le mot de conversion %redactedMsg.
+ */
+public class RedactingMessageConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return LogRedactor.redact(event.getFormattedMessage());
+    }
+}
@@ -0,0 +1,62 @@
+package com.staffing.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Attribue un identifiant à chaque requête (MDC requestId, repris dans le
+ * format des logs) et tire au sort les requêtes dont les logs DEBUG sont
+ * conservés, selon app.logging.debug-sample-rate (modifiable à chaud).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestSamplingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String SAMPLED_KEY = "debugSampled";
+
+    private volatile double sampleRate;
+
+    public RequestSamplingFilter(@Value("${app.logging.debug-sample-rate:0.0}") double sampleRate) {
+        setSampleRate(sampleRate);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("Le taux d'échantillonnage doit être compris entre 0 et 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        MDC.put(REQUEST_ID_KEY, Long.toHexString(random.nextLong() >>> 16));
+        double rate = sampleRate;
+        if (rate > 0.0 && random.nextDouble() < rate) {
+            MDC.put(SAMPLED_KEY, "true");
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(SAMPLED_KEY);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.staffing.model;
 
+import com.staffing.model.listener.SkillGapEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,13 +13,21 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(SkillGapEntityListener.class)
+@NamedEntityGraph(name = Assignment.WITH_COLLABORATOR_AND_PROJECT, attributeNodes = {
+    @NamedAttributeNode("collaborator"),
+    @NamedAttributeNode("project")
+})
 @Table(name = "assignments")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Assignment {
+    public static final String WITH_COLLABORATOR_AND_PROJECT = "Assignment.withCollaboratorAndProject";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignment_seq")
+    @SequenceGenerator(name = "assignment_seq", sequenceName = "assignments_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -1,6 +1,8 @@
 package com.staffing.model;
 
 import com.staffing.model.enums.CollaboratorStatus;
+import com.staffing.model.listener.SkillGapEntityListener;
+import com.staffing.model.listener.StatisticsEntityListener;
 import com.staffing.model.converter.CollaboratorStatusConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -17,6 +19,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@EntityListeners({StatisticsEntityListener.class, SkillGapEntityListener.class})
+@NamedEntityGraph(name = Collaborator.WITH_SKILLS, attributeNodes = @NamedAttributeNode("skills"))
 @Table(name = "collaborators")
 @Getter
 @Setter
@@ -24,8 +28,12 @@ import java.util.Set;
 @AllArgsConstructor
 @EqualsAndHashCode(of = {"id", "name", "email", "role", "grade", "phone", "status", "experienceYears"})
 public class Collaborator {
+    public static final String WITH_SKILLS = "Collaborator.withSkills";
+    public static final String PHONE_REGEXP = "^[+]?[(]?[0-9]{1,4}[)]?[-\\s./0-9]*$";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collaborator_seq")
+    @SequenceGenerator(name = "collaborator_seq", sequenceName = "collaborators_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,7 +47,7 @@ public class Collaborator {
 
     private String grade;
 
-    @Pattern(regexp = "^[+]?[(]?[0-9]{1,4}[)]?[-\\s./0-9]*$")
+    @Pattern(regexp = PHONE_REGEXP)
     @Column(nullable = false)
     private String phone;
 
@@ -53,7 +61,8 @@ public class Collaborator {
     @Column(nullable = false)
     private boolean active = true;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Chargées par le plan WITH_SKILLS ou par lots (hibernate.default_batch_fetch_size)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "collaborator_skills",
         joinColumns = @JoinColumn(name = "collaborator_id"),
@@ -0,0 +1,59 @@
+package com.staffing.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "kpi_snapshots")
+@NoArgsConstructor
+public class KpiSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kpi_snapshot_seq")
+    @SequenceGenerator(name = "kpi_snapshot_seq", sequenceName = "kpi_snapshots_id_seq", allocationSize = 50)
+    private Long id;
+
+    // Début de la période couverte (heure, jour ou semaine selon la résolution)
+    @Column(name = "captured_at", nullable = false)
+    private LocalDateTime capturedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Resolution resolution;
+
+    @Column(name = "total_projects", nullable = false)
+    private int totalProjects;
+
+    @Column(name = "total_active_projects", nullable = false)
+    private int totalActiveProjects;
+
+    @Column(name = "completed_projects", nullable = false)
+    private int completedProjects;
+
+    @Column(name = "critical_projects", nullable = false)
+    private int criticalProjects;
+
+    @Column(name = "overdue_projects", nullable = false)
+    private int overdueProjects;
+
+    @Column(name = "recent_project_updates", nullable = false)
+    private int recentProjectUpdates;
+
+    @Column(name = "total_collaborators", nullable = false)
+    private int totalCollaborators;
+
+    @Column(name = "new_assignments", nullable = false)
+    private int newAssignments;
+
+    @Column(name = "overall_project_progress", nullable = false)
+    private double overallProjectProgress;
+
+    public enum Resolution {
+        HOURLY,
+        DAILY,
+        WEEKLY
+    }
+}
@@ -2,11 +2,14 @@ package com.staffing.model;
 
 import com.staffing.model.enums.ProjectPriority;
 import com.staffing.model.enums.ProjectStatus;
+import com.staffing.model.listener.SkillGapEntityListener;
+import com.staffing.model.listener.StatisticsEntityListener;
 import com.staffing.model.converter.ProjectStatusConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,11 +21,17 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Data
 @Entity
+@EntityListeners({StatisticsEntityListener.class, SkillGapEntityListener.class})
+@NamedEntityGraph(name = Project.WITH_SKILLS, attributeNodes = @NamedAttributeNode("skills"))
 @Table(name = "projects")
 @NoArgsConstructor
+@EqualsAndHashCode(of = {"id", "name", "client", "projectManager", "startDate", "endDate"})
 public class Project {
+    public static final String WITH_SKILLS = "Project.withSkills";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @SequenceGenerator(name = "project_seq", sequenceName = "projects_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
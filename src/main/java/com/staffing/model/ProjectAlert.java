@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Table(name = "project_alerts")
 public class ProjectAlert {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_alert_seq")
+    @SequenceGenerator(name = "project_alert_seq", sequenceName = "project_alerts_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,56 @@
+package com.staffing.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "refresh_tokens")
+@NoArgsConstructor
+public class RefreshToken implements Persistable<String> {
+    // Empreinte SHA-256 du jeton opaque : le jeton lui-même n'est jamais stocké
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Jetons issus d'une même connexion par rotations successives
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Identifiant attribué par l'application : évite le SELECT préalable de merge()
+    @Transient
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
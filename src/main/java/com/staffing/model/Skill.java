@@ -1,5 +1,6 @@
 package com.staffing.model;
 
+import com.staffing.model.listener.SkillGapEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -12,6 +13,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@EntityListeners(SkillGapEntityListener.class)
 @Table(name = "skills")
 @Getter
 @Setter
@@ -20,7 +22,8 @@ import java.util.Set;
 @EqualsAndHashCode(of = {"id", "name", "category"})
 public class Skill {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "skill_seq")
+    @SequenceGenerator(name = "skill_seq", sequenceName = "skills_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,45 @@
+package com.staffing.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de la vue matérialisée skill_gap_matrix (lecture seule).
+ */
+@Entity
+@Immutable
+@Table(name = "skill_gap_matrix")
+@Getter
+@NoArgsConstructor
+public class SkillGap {
+    @Id
+    @Column(name = "skill_id")
+    private Long skillId;
+
+    @Column(name = "skill_name")
+    private String skillName;
+
+    private String category;
+
+    // Projets actifs requérant la compétence
+    @Column(name = "demanding_projects")
+    private long demandingProjects;
+
+    // Places restant à pourvoir dans ces projets
+    @Column(name = "open_slots")
+    private long openSlots;
+
+    // Collaborateurs actifs disponibles possédant la compétence
+    @Column(name = "available_collaborators")
+    private long availableCollaborators;
+
+    // open_slots - available_collaborators : positif si la demande n'est pas couverte
+    private long gap;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+}
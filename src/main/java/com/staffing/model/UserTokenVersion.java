@@ -0,0 +1,26 @@
+package com.staffing.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "user_token_versions")
+@NoArgsConstructor
+public class UserTokenVersion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private int version;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
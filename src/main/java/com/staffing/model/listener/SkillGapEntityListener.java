@@ -0,0 +1,33 @@
+package com.staffing.model.listener;
+
+import com.staffing.service.SkillGapService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signale au SkillGapService toute modification d'une entité entrant dans le
+ * calcul de la vue skill_gap_matrix.
+ */
+@Component
+public class SkillGapEntityListener {
+
+    // Résolu paresseusement : les listeners sont créés avec l'EntityManagerFactory
+    private final ObjectProvider<SkillGapService> skillGapService;
+
+    public SkillGapEntityListener(ObjectProvider<SkillGapService> skillGapService) {
+        this.skillGapService = skillGapService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        SkillGapService service = skillGapService.getIfAvailable();
+        if (service != null) {
+            service.markDirty();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.staffing.model.listener;
+
+import com.staffing.model.Collaborator;
+import com.staffing.model.Project;
+import com.staffing.model.Skill;
+import com.staffing.service.StatisticsStore;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Transmet les créations, modifications et suppressions de projets et de
+ * collaborateurs au StatisticsStore.
+ */
+@Component
+public class StatisticsEntityListener {
+
+    // Résolu paresseusement : les listeners sont créés avec l'EntityManagerFactory
+    private final ObjectProvider<StatisticsStore> statisticsStore;
+
+    public StatisticsEntityListener(ObjectProvider<StatisticsStore> statisticsStore) {
+        this.statisticsStore = statisticsStore;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        StatisticsStore store = statisticsStore.getIfAvailable();
+        if (store == null) {
+            return;
+        }
+        if (entity instanceof Project project) {
+            // Les compétences d'un projet sont LAZY : ne pas les charger pendant le flush
+            Set<Long> skillIds = Hibernate.isInitialized(project.getSkills())
+                    ? project.getSkills().stream().map(Skill::getId).collect(Collectors.toSet())
+                    : null;
+            store.projectSaved(project.getId(),
+                    new StatisticsStore.ProjectState(project.getStatus(), project.isActive(), skillIds));
+        } else if (entity instanceof Collaborator collaborator) {
+            // Idem pour les compétences d'un collaborateur (LAZY), chargé par findById avant un changement de statut
+            Set<String> skillNames = Hibernate.isInitialized(collaborator.getSkills())
+                    ? collaborator.getSkills().stream().map(Skill::getName).collect(Collectors.toSet())
+                    : null;
+            store.collaboratorSaved(collaborator.getId(),
+                    new StatisticsStore.CollaboratorState(collaborator.getStatus(), collaborator.isActive(), skillNames));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        StatisticsStore store = statisticsStore.getIfAvailable();
+        if (store == null) {
+            return;
+        }
+        if (entity instanceof Project project) {
+            store.projectRemoved(project.getId());
+        } else if (entity instanceof Collaborator collaborator) {
+            store.collaboratorRemoved(collaborator.getId());
+        }
+    }
+}
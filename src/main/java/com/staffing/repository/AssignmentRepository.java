@@ -1,22 +1,61 @@
 package com.staffing.repository;
 
+import com.staffing.dto.AssignmentDTO;
 import com.staffing.model.Assignment;
 import com.staffing.model.Collaborator;
 import com.staffing.model.enums.ProjectStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
+public interface AssignmentRepository extends JpaRepository<Assignment, Long>, JpaSpecificationExecutor<Assignment> {
+    // Projection des listes en lecture seule : aucune entité gérée, seules les colonnes affichées
+    String LIST_ROW_QUERY =
+            "SELECT new com.staffing.dto.AssignmentDTO(a.id, c.id, p.id, a.role, a.notes, c.name, p.name, " +
+            "p.startDate, p.endDate, p.status, p.active) " +
+            "FROM Assignment a JOIN a.collaborator c JOIN a.project p ";
+
+    @Query(LIST_ROW_QUERY)
+    List<AssignmentDTO> findAllListRows();
+
+    @Query(LIST_ROW_QUERY + "WHERE a.id = :id")
+    Optional<AssignmentDTO> findListRowById(@Param("id") Long id);
+
+    @Query(LIST_ROW_QUERY + "WHERE c.id = :collaboratorId")
+    List<AssignmentDTO> findListRowsByCollaboratorId(@Param("collaboratorId") Long collaboratorId);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.id = :projectId")
+    List<AssignmentDTO> findListRowsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.status IN :statuses")
+    List<AssignmentDTO> findListRowsByProjectStatusIn(@Param("statuses") Collection<ProjectStatus> statuses);
+
+    @EntityGraph(Assignment.WITH_COLLABORATOR_AND_PROJECT)
     List<Assignment> findByCollaboratorId(Long collaboratorId);
+
+    // Parcours complet par curseur serveur (fetch size) pour les réponses en flux
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Assignment a JOIN FETCH a.collaborator JOIN FETCH a.project ORDER BY a.id")
+    Stream<Assignment> streamAll();
+
+    @EntityGraph(Assignment.WITH_COLLABORATOR_AND_PROJECT)
     List<Assignment> findByProjectId(Long projectId);
+
     Optional<Assignment> findByCollaborator(Collaborator collaborator);
     boolean existsByCollaborator(Collaborator collaborator);
 
@@ -46,21 +85,55 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     @Query("SELECT a FROM Assignment a WHERE a.collaborator.id = :collaboratorId AND a.project.status = :status")
     List<Assignment> findByCollaboratorIdAndProjectStatus(@Param("collaboratorId") Long collaboratorId, @Param("status") ProjectStatus status);
 
-    @Query("SELECT a FROM Assignment a WHERE a.project.endDate < :date")
-    List<Assignment> findByProjectEndDateBefore(@Param("date") LocalDate date);
-
     @Query("SELECT a FROM Assignment a WHERE a.project.id = :projectId AND a.collaborator.id IN :collaboratorIds")
     List<Assignment> findByProjectIdAndCollaboratorIdIn(@Param("projectId") Long projectId, @Param("collaboratorIds") List<Long> collaboratorIds);
 
-    List<Assignment> findByProjectStatusIn(List<ProjectStatus> statuses);
+
+    long countByProjectStatusIn(List<ProjectStatus> statuses);
+
+    /**
+     * Prévision des libérations par semaine de fin de projet : une ligne par semaine,
+     * une par (semaine, rôle) et une par (semaine, compétence du collaborateur).
+     * Les colonnes roleGrouped / skillGrouped (GROUPING) indiquent le niveau d'agrégation.
+     * Alias camelCase entre guillemets pour que PostgreSQL ne les replie pas en minuscules.
+     */
+    @Query(value = "SELECT CAST(date_trunc('week', p.end_date) AS date) AS \"weekStart\", " +
+            "a.role AS role, s.name AS skill, " +
+            "GROUPING(a.role) AS \"roleGrouped\", GROUPING(s.name) AS \"skillGrouped\", " +
+            "COUNT(DISTINCT a.id) AS \"endingAssignments\", " +
+            "COUNT(DISTINCT a.collaborator_id) AS \"releasedCollaborators\" " +
+            "FROM assignments a " +
+            "JOIN projects p ON p.id = a.project_id " +
+            "LEFT JOIN collaborator_skills cs ON cs.collaborator_id = a.collaborator_id " +
+            "LEFT JOIN skills s ON s.id = cs.skill_id " +
+            "WHERE p.status IN ('EN_DEMARRAGE', 'EN_COURS', 'EN_PAUSE') " +
+            "AND p.end_date BETWEEN :from AND :to " +
+            "GROUP BY GROUPING SETS ((date_trunc('week', p.end_date)), " +
+            "(date_trunc('week', p.end_date), a.role), " +
+            "(date_trunc('week', p.end_date), s.name)) " +
+            "ORDER BY \"weekStart\"", nativeQuery = true)
+    List<ReleaseForecastRow> findReleaseForecast(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface ReleaseForecastRow {
+        LocalDate getWeekStart();
+        String getRole();
+        String getSkill();
+        int getRoleGrouped();
+        int getSkillGrouped();
+        long getEndingAssignments();
+        long getReleasedCollaborators();
+    }
 
     @Query("SELECT COUNT(a) FROM Assignment a WHERE a.project.status = 'EN_COURS'")
     long countActiveAssignments();
     
-    @Query("SELECT COUNT(a) FROM Assignment a WHERE a.project.endDate BETWEEN CURRENT_DATE AND :endDate")
+    // Affectations des projets actifs se terminant strictement entre aujourd'hui et endDate
+    @Query("SELECT COUNT(a) FROM Assignment a WHERE a.project.status IN ('EN_DEMARRAGE', 'EN_COURS', 'EN_PAUSE') " +
+           "AND a.project.endDate > CURRENT_DATE AND a.project.endDate < :endDate")
     long countAssignmentsEndingSoon(@Param("endDate") LocalDate endDate);
     
-    @Query("SELECT COUNT(DISTINCT a.collaborator) FROM Assignment a WHERE a.project.endDate BETWEEN CURRENT_DATE AND :endDate")
+    @Query("SELECT COUNT(DISTINCT a.collaborator) FROM Assignment a WHERE a.project.status IN ('EN_DEMARRAGE', 'EN_COURS', 'EN_PAUSE') " +
+           "AND a.project.endDate > CURRENT_DATE AND a.project.endDate < :endDate")
     long countCollaboratorsToBeReleased(@Param("endDate") LocalDate endDate);
 
     @Query("SELECT COUNT(a) > 0 FROM Assignment a WHERE a.collaborator.id = :collaboratorId AND a.project.active = true")
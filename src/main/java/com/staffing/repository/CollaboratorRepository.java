@@ -1,18 +1,45 @@
 package com.staffing.repository;
 
+import com.staffing.dto.CollaboratorDTO;
 import com.staffing.model.Collaborator;
 import com.staffing.model.enums.CollaboratorStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface CollaboratorRepository extends JpaRepository<Collaborator, Long> {
+public interface CollaboratorRepository extends JpaRepository<Collaborator, Long>, JpaSpecificationExecutor<Collaborator> {
+    // Projection des listes en lecture seule : compétences lues ensuite par findSkillRowsByCollaboratorIds
+    String LIST_ROW_QUERY =
+            "SELECT new com.staffing.dto.CollaboratorDTO(c.id, c.name, c.email, c.role, c.grade, c.phone, " +
+            "c.status, c.experienceYears, c.active) " +
+            "FROM Collaborator c ";
+
+    @Query(LIST_ROW_QUERY)
+    List<CollaboratorDTO> findAllListRows();
+
+    @Query(LIST_ROW_QUERY + "WHERE c.active = :active")
+    List<CollaboratorDTO> findListRowsByActive(@Param("active") boolean active);
+
+    // Lignes (id collaborateur, id, nom et catégorie de compétence) pour un lot de collaborateurs
+    @Query("SELECT c.id, s.id, s.name, s.category FROM Collaborator c JOIN c.skills s WHERE c.id IN :ids")
+    List<Object[]> findSkillRowsByCollaboratorIds(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(Collaborator.WITH_SKILLS)
     List<Collaborator> findByStatus(CollaboratorStatus status);
     
     List<Collaborator> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(String name, String email);
@@ -42,6 +69,15 @@ public interface CollaboratorRepository extends JpaRepository<Collaborator, Long
     @Query("SELECT c FROM Collaborator c LEFT JOIN FETCH c.skills")
     List<Collaborator> findAllWithSkills();
 
+    // Parcours complet par curseur serveur (fetch size) pour les réponses en flux
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Collaborator c LEFT JOIN FETCH c.skills ORDER BY c.id")
+    Stream<Collaborator> streamAll();
+
+    // Emails déjà présents parmi ceux fournis (comparaison insensible à la casse)
+    @Query("SELECT LOWER(c.email) FROM Collaborator c WHERE LOWER(c.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     @Query("SELECT c FROM Collaborator c LEFT JOIN FETCH c.skills WHERE c.status = :status")
     List<Collaborator> findByStatusWithSkills(@Param("status") CollaboratorStatus status);
     
@@ -66,19 +102,14 @@ public interface CollaboratorRepository extends JpaRepository<Collaborator, Long
            "(SELECT a FROM Assignment a WHERE a.collaborator = c AND :startDate <= a.project.endDate AND :endDate >= a.project.startDate)")
     List<Collaborator> findAvailableForPeriodWithSkills(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    // Recherche des collaborateurs actifs
-    @Query("SELECT c FROM Collaborator c WHERE c.active = true")
-    List<Collaborator> findActiveCollaborators();
-
-    // Recherche des collaborateurs inactifs
-    @Query("SELECT c FROM Collaborator c WHERE c.active = false")
-    List<Collaborator> findInactiveCollaborators();
 
     // Recherche des collaborateurs actifs par statut
+    @EntityGraph(Collaborator.WITH_SKILLS)
     @Query("SELECT c FROM Collaborator c WHERE c.active = true AND c.status = :status")
     List<Collaborator> findActiveCollaboratorsByStatus(@Param("status") CollaboratorStatus status);
 
     // Recherche des collaborateurs actifs disponibles
+    @EntityGraph(Collaborator.WITH_SKILLS)
     @Query("SELECT c FROM Collaborator c WHERE c.active = true AND c.status = 'DISPONIBLE'")
     List<Collaborator> findActiveAvailableCollaborators();
 
@@ -89,7 +120,9 @@ public interface CollaboratorRepository extends JpaRepository<Collaborator, Long
     @Query("SELECT s.name, COUNT(c) FROM Collaborator c JOIN c.skills s GROUP BY s.name")
     List<Object[]> countCollaboratorsBySkill();
 
-    @Query("SELECT s.name, COUNT(c) as count FROM Collaborator c JOIN c.skills s GROUP BY s.name ORDER BY count DESC")
+    @Query(value = "SELECT s.name, COUNT(*) AS count FROM collaborator_skills cs " +
+                   "JOIN skills s ON s.id = cs.skill_id GROUP BY s.name ORDER BY count DESC LIMIT :limit",
+           nativeQuery = true)
     List<Object[]> findTopSkills(@Param("limit") int limit);
 
     @Query("SELECT COUNT(c) FROM Collaborator c WHERE c.active = :active")
@@ -99,4 +132,24 @@ public interface CollaboratorRepository extends JpaRepository<Collaborator, Long
     long countByStatusAndActive(@Param("status") CollaboratorStatus status, @Param("active") boolean active);
 
     List<Collaborator> findByActive(boolean active);
-} 
\ No newline at end of file
+
+    // Données minimales pour reconstruire les statistiques en mémoire
+    @Query("SELECT c.id, c.status, c.active FROM Collaborator c")
+    List<Object[]> findStatisticsRows();
+
+    @Query("SELECT c.id, s.name FROM Collaborator c JOIN c.skills s")
+    List<Object[]> findCollaboratorSkillPairs();
+
+    // Paires (id collaborateur, nom de compétence) pour un lot de collaborateurs
+    @Query("SELECT c.id, s.name FROM Collaborator c JOIN c.skills s WHERE c.id IN :ids")
+    List<Object[]> findSkillNamesByCollaboratorIds(@Param("ids") Collection<Long> ids);
+
+    // Collaborateurs existants parmi ids, avec un indicateur vrai s'ils ont au moins une affectation
+    @Query("SELECT c.id, CASE WHEN EXISTS (SELECT a.id FROM Assignment a WHERE a.collaborator.id = c.id) " +
+           "THEN true ELSE false END FROM Collaborator c WHERE c.id IN :ids")
+    List<Object[]> findIdsWithAssignmentFlag(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Collaborator c SET c.active = :active WHERE c.id IN :ids")
+    int updateActive(@Param("ids") Collection<Long> ids, @Param("active") boolean active);
+}
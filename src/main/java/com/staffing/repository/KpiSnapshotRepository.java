@@ -0,0 +1,47 @@
+package com.staffing.repository;
+
+import com.staffing.model.KpiSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface KpiSnapshotRepository extends JpaRepository<KpiSnapshot, Long> {
+
+    // Chaque période n'existe qu'à une seule résolution : une lecture par plage suffit
+    List<KpiSnapshot> findByCapturedAtBetweenOrderByCapturedAtAsc(LocalDateTime from, LocalDateTime to);
+
+    boolean existsByResolutionAndCapturedAt(KpiSnapshot.Resolution resolution, LocalDateTime capturedAt);
+
+    /**
+     * Agrège les instantanés de résolution {@code source} antérieurs à {@code before}
+     * en une ligne par période {@code unit} ('day' ou 'week') de résolution {@code target}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO kpi_snapshots (captured_at, resolution, total_projects, total_active_projects, " +
+            "completed_projects, critical_projects, overdue_projects, recent_project_updates, " +
+            "total_collaborators, new_assignments, overall_project_progress) " +
+            "SELECT date_trunc(:unit, captured_at), :target, " +
+            "ROUND(AVG(total_projects)), ROUND(AVG(total_active_projects)), " +
+            "ROUND(AVG(completed_projects)), ROUND(AVG(critical_projects)), " +
+            "ROUND(AVG(overdue_projects)), ROUND(AVG(recent_project_updates)), " +
+            "ROUND(AVG(total_collaborators)), ROUND(AVG(new_assignments)), " +
+            "AVG(overall_project_progress) " +
+            "FROM kpi_snapshots WHERE resolution = :source AND captured_at < :before " +
+            "GROUP BY 1 " +
+            "ON CONFLICT (resolution, captured_at) DO NOTHING", nativeQuery = true)
+    int insertDownsampled(@Param("unit") String unit,
+                          @Param("source") String source,
+                          @Param("target") String target,
+                          @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM KpiSnapshot k WHERE k.resolution = :resolution AND k.capturedAt < :before")
+    int deleteByResolutionBefore(@Param("resolution") KpiSnapshot.Resolution resolution,
+                                 @Param("before") LocalDateTime before);
+}
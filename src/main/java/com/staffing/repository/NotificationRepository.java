@@ -36,6 +36,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
         @Param("since") LocalDateTime since
     );
     
+    @Modifying
     @Query("DELETE FROM Notification n WHERE n.recipient = :recipient AND n.read = true AND n.createdAt < :before")
     void deleteOldReadNotifications(
         @Param("recipient") String recipient,
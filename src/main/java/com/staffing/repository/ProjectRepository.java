@@ -1,41 +1,80 @@
 package com.staffing.repository;
 
+import com.staffing.dto.DashboardAggregate;
+import com.staffing.dto.ProjectDTO;
 import com.staffing.model.Project;
 import com.staffing.model.enums.ProjectStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
-    List<Project> findByStatus(ProjectStatus status);
-    
-    List<Project> findByClient(String client);
+    // Projection des listes en lecture seule : compétences lues ensuite par findSkillNamesByProjectIds
+    String LIST_ROW_QUERY =
+            "SELECT new com.staffing.dto.ProjectDTO(p.id, p.name, p.description, p.client, p.projectManager, " +
+            "p.startDate, p.endDate, p.teamSize, p.status, p.active, p.progress, p.createdAt, p.updatedAt) " +
+            "FROM Project p ";
+
+    @Query(LIST_ROW_QUERY)
+    List<ProjectDTO> findAllListRows();
+
+    @Query(LIST_ROW_QUERY + "WHERE p.active = :active")
+    List<ProjectDTO> findListRowsByActive(@Param("active") boolean active);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.status = :status")
+    List<ProjectDTO> findListRowsByStatus(@Param("status") ProjectStatus status);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.client = :client")
+    List<ProjectDTO> findListRowsByClient(@Param("client") String client);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.id = :id")
+    Optional<ProjectDTO> findListRowById(@Param("id") Long id);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.id IN (SELECT ps.id FROM Project ps JOIN ps.skills s WHERE s.name = :skill)")
+    List<ProjectDTO> findListRowsBySkill(@Param("skill") String skill);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.id IN (SELECT a.project.id FROM Assignment a WHERE a.collaborator.id = :collaboratorId)")
+    List<ProjectDTO> findListRowsByCollaboratorId(@Param("collaboratorId") Long collaboratorId);
+
+    // Mêmes critères que ProjectSpecifications.inProgress / critical
+    @Query(LIST_ROW_QUERY + "WHERE p.endDate >= CURRENT_DATE AND p.status = 'EN_COURS'")
+    List<ProjectDTO> findInProgressListRows();
+
+    @Query(LIST_ROW_QUERY + "WHERE p.endDate < :currentDate AND p.status <> 'TERMINE'")
+    List<ProjectDTO> findCriticalListRows(@Param("currentDate") LocalDate currentDate);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.active = true AND p.status = :status")
+    List<ProjectDTO> findActiveListRowsByStatus(@Param("status") ProjectStatus status);
+
+    @Query(LIST_ROW_QUERY + "WHERE p.active = true AND p.client = :client")
+    List<ProjectDTO> findActiveListRowsByClient(@Param("client") String client);
+
+    @Override
+    @EntityGraph(Project.WITH_SKILLS)
+    List<Project> findAll();
+
     
     List<Project> findByNameContainingIgnoreCaseOrClientContainingIgnoreCase(String name, String client);
     
     @Query("SELECT p FROM Project p WHERE p.status = :status AND p.endDate >= CURRENT_DATE")
     List<Project> findActiveProjectsByStatus(@Param("status") ProjectStatus status);
     
-    @Query("SELECT p FROM Project p WHERE p.endDate >= CURRENT_DATE AND p.status = 'IN_PROGRESS'")
-    List<Project> findInProgressProjects();
-    
-    @Query("SELECT p FROM Project p WHERE :skill MEMBER OF p.skills")
-    List<Project> findBySkill(@Param("skill") String skill);
-    
-    @Query("SELECT DISTINCT p FROM Project p JOIN p.assignments a WHERE a.collaborator.id = :collaboratorId")
-    List<Project> findByCollaboratorId(@Param("collaboratorId") Long collaboratorId);
-    
-    @Query("SELECT p FROM Project p WHERE p.endDate < :currentDate AND p.status != 'COMPLETED'")
-    List<Project> findCriticalProjects(@Param("currentDate") LocalDate currentDate);
-    
     @Query("SELECT p FROM Project p WHERE " +
            "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
            "(:status IS NULL OR p.status = :status) AND " +
@@ -61,20 +100,11 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     @Query("SELECT COUNT(p) FROM Project p WHERE p.updatedAt >= :date")
     int countRecentUpdates(@Param("date") LocalDateTime date);
 
-    @Query("SELECT p FROM Project p WHERE p.active = true")
-    List<Project> findByActiveTrue();
-
-    // Recherche des projets actifs par statut
-    @Query("SELECT p FROM Project p WHERE p.active = true AND p.status = :status")
-    List<Project> findActiveProjectsByStatusAndActive(@Param("status") ProjectStatus status);
-
-    // Recherche des projets inactifs
-    @Query("SELECT p FROM Project p WHERE p.active = false")
-    List<Project> findInactiveProjects();
 
-    // Recherche des projets actifs par client
-    @Query("SELECT p FROM Project p WHERE p.active = true AND p.client = :client")
-    List<Project> findActiveProjectsByClient(@Param("client") String client);
+    // Parcours complet par curseur serveur (fetch size) pour les réponses en flux
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.skills ORDER BY p.id")
+    Stream<Project> streamAll();
 
     // Recherche des projets actifs en cours
     @Query("SELECT p FROM Project p WHERE p.active = true AND p.status = 'EN_COURS'")
@@ -85,4 +115,42 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
 
     @Query("SELECT COUNT(p) FROM Project p WHERE p.status = :status AND p.endDate < CURRENT_DATE")
     long countOverdueProjects(@Param("status") ProjectStatus status);
-} 
\ No newline at end of file
+
+    // Agrégats du tableau de bord en une seule requête (COUNT/AVG conditionnels)
+    @Query("SELECT new com.staffing.dto.DashboardAggregate(" +
+           "COALESCE(SUM(CASE WHEN p.active = true THEN 1 ELSE 0 END), 0), " +
+           "(SELECT COUNT(c) FROM Collaborator c WHERE c.active = true), " +
+           "COALESCE(SUM(CASE WHEN p.updatedAt >= :since THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.active = true AND p.endDate < :today THEN 1 ELSE 0 END), 0), " +
+           "(SELECT COUNT(a) FROM Assignment a WHERE a.createdAt >= :since), " +
+           "COALESCE(AVG(CASE WHEN p.status <> :excludedStatus THEN p.progress END), 0.0)) " +
+           "FROM Project p")
+    DashboardAggregate getDashboardAggregate(@Param("since") LocalDateTime since,
+                                             @Param("today") LocalDate today,
+                                             @Param("excludedStatus") ProjectStatus excludedStatus);
+
+    // Données minimales pour reconstruire les statistiques en mémoire
+    @Query("SELECT p.id, p.status, p.active FROM Project p")
+    List<Object[]> findStatisticsRows();
+
+    @Query("SELECT p.id, s.id FROM Project p JOIN p.skills s")
+    List<Object[]> findProjectSkillPairs();
+
+    // Paires (id projet, nom de compétence) pour un lot de projets
+    @Query("SELECT p.id, s.name FROM Project p JOIN p.skills s WHERE p.id IN :ids")
+    List<Object[]> findSkillNamesByProjectIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.active = true AND p.endDate < :date")
+    long countActiveProjectsEndingBefore(@Param("date") LocalDate date);
+
+    // Projets existants parmi ids, avec un indicateur vrai s'ils ont au moins une affectation
+    @Query("SELECT p.id, CASE WHEN EXISTS (SELECT a.id FROM Assignment a WHERE a.project.id = p.id) " +
+           "THEN true ELSE false END FROM Project p WHERE p.id IN :ids")
+    List<Object[]> findIdsWithAssignmentFlag(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET p.active = :active, p.updatedAt = :updatedAt WHERE p.id IN :ids")
+    int updateActive(@Param("ids") Collection<Long> ids,
+                     @Param("active") boolean active,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,34 @@
+package com.staffing.repository;
+
+import com.staffing.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // Consomme le jeton ; 0 si déjà utilisé (réutilisation) ou supprimé entre-temps
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.used = true WHERE t.tokenHash = :tokenHash AND t.used = false")
+    int markUsed(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
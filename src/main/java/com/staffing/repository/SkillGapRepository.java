@@ -0,0 +1,22 @@
+package com.staffing.repository;
+
+import com.staffing.model.SkillGap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SkillGapRepository extends JpaRepository<SkillGap, Long> {
+
+    List<SkillGap> findAllByOrderByGapDescSkillNameAsc();
+
+    // Compétences dont la demande n'est pas couverte (index sur gap)
+    List<SkillGap> findByGapGreaterThanOrderByGapDescSkillNameAsc(long gap);
+
+    @Modifying
+    @Query(value = "REFRESH MATERIALIZED VIEW CONCURRENTLY skill_gap_matrix", nativeQuery = true)
+    void refresh();
+}
@@ -6,11 +6,37 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
+    // Offre (collaborateurs actifs) et demande (projets actifs) par compétence, agrégées en SQL.
+    // Alias entre guillemets : PostgreSQL replierait sinon skillId en skillid et la projection ne les trouverait pas
+    String SKILL_USAGE_QUERY =
+            "SELECT s.id AS \"skillId\", s.name AS name, s.category AS category, " +
+            "COALESCE(supply.total, 0) AS \"collaboratorCount\", COALESCE(demand.total, 0) AS \"projectCount\" " +
+            "FROM skills s " +
+            "LEFT JOIN (SELECT cs.skill_id, COUNT(*) AS total FROM collaborator_skills cs " +
+            "JOIN collaborators c ON c.id = cs.collaborator_id WHERE c.active = true " +
+            "GROUP BY cs.skill_id) supply ON supply.skill_id = s.id " +
+            "LEFT JOIN (SELECT ps.skill_id, COUNT(*) AS total FROM project_skills ps " +
+            "JOIN projects p ON p.id = ps.project_id WHERE p.active = true " +
+            "GROUP BY ps.skill_id) demand ON demand.skill_id = s.id ";
+
+    interface SkillUsage {
+        Long getSkillId();
+        String getName();
+        String getCategory();
+        long getCollaboratorCount();
+        long getProjectCount();
+    }
+
+    // Lignes (id, nombre de collaborateurs, nombre de projets) pour un lot de compétences
+    @Query("SELECT s.id, SIZE(s.collaborators), SIZE(s.projects) FROM Skill s WHERE s.id IN :ids")
+    List<Object[]> findUsageCountsByIds(@Param("ids") Collection<Long> ids);
+
     Optional<Skill> findByNameIgnoreCase(String name);
     
     List<Skill> findByNameContainingIgnoreCase(String name);
@@ -24,13 +50,25 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     @Query("SELECT s FROM Skill s WHERE s.name IN :skillNames")
     List<Skill> findBySkillNames(@Param("skillNames") List<String> skillNames);
     
+    @Query("SELECT s FROM Skill s WHERE LOWER(s.name) IN :names")
+    List<Skill> findByLowerNameIn(@Param("names") Collection<String> names);
+
     boolean existsByNameIgnoreCase(String name);
 
     List<Skill> findByCategory(String category);
 
-    @Query("SELECT DISTINCT s.category FROM Skill s")
-    List<String> findDistinctCategories();
+    // Colonnes du catalogue en mémoire (voir SkillCatalog)
+    @Query("SELECT s.id, s.name, s.category FROM Skill s")
+    List<Object[]> findCatalogRows();
+
+    @Query(value = SKILL_USAGE_QUERY + "ORDER BY \"collaboratorCount\" DESC, s.name", nativeQuery = true)
+    List<SkillUsage> findSkillUsageHistogram();
+
+    @Query(value = SKILL_USAGE_QUERY + "WHERE COALESCE(supply.total, 0) > 0 " +
+                   "ORDER BY \"collaboratorCount\" DESC, s.name LIMIT :limit", nativeQuery = true)
+    List<SkillUsage> findMostUsedSkills(@Param("limit") int limit);
 
-    @Query("SELECT s FROM Skill s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(s.category) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Skill> searchSkills(@Param("query") String query);
-} 
\ No newline at end of file
+    @Query(value = SKILL_USAGE_QUERY + "WHERE COALESCE(supply.total, 0) > 0 " +
+                   "ORDER BY \"collaboratorCount\" ASC, s.name LIMIT :limit", nativeQuery = true)
+    List<SkillUsage> findLeastUsedSkills(@Param("limit") int limit);
+}
@@ -3,10 +3,13 @@ package com.staffing.repository;
 import com.staffing.model.User;
 import com.staffing.model.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -24,4 +27,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u")
     @Cacheable(value = "users", key = "'total'")
     long countTotalUsers();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    @CacheEvict(value = "users", key = "'email:' + #email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
 } 
\ No newline at end of file
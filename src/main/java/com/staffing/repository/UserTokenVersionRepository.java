@@ -0,0 +1,25 @@
+package com.staffing.repository;
+
+import com.staffing.model.UserTokenVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenVersionRepository extends JpaRepository<UserTokenVersion, Long> {
+
+    List<UserTokenVersion> findByUpdatedAtAfter(LocalDateTime since);
+
+    // Incrémente la version (création à 1 si absente) ; les jetons émis avant sont invalidés
+    @Modifying
+    @Query(value = "INSERT INTO user_token_versions (user_id, version, revoked, updated_at) " +
+            "VALUES (:userId, 1, :revoked, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET version = user_token_versions.version + 1, " +
+            "revoked = EXCLUDED.revoked, updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int bumpVersion(@Param("userId") Long userId, @Param("revoked") boolean revoked);
+}
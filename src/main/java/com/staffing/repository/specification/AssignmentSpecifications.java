@@ -0,0 +1,32 @@
+package com.staffing.repository.specification;
+
+import com.staffing.model.Assignment;
+import com.staffing.model.enums.ProjectStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Critères des listes d'affectations, utilisés par la pagination keyset.
+ */
+public final class AssignmentSpecifications {
+
+    private AssignmentSpecifications() {
+    }
+
+    public static Specification<Assignment> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static Specification<Assignment> ofCollaborator(Long collaboratorId) {
+        return (root, query, cb) -> cb.equal(root.get("collaborator").get("id"), collaboratorId);
+    }
+
+    public static Specification<Assignment> ofProject(Long projectId) {
+        return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Assignment> projectStatusIn(Collection<ProjectStatus> statuses) {
+        return (root, query, cb) -> root.get("project").get("status").in(statuses);
+    }
+}
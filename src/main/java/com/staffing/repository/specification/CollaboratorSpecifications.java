@@ -0,0 +1,71 @@
+package com.staffing.repository.specification;
+
+import com.staffing.model.Assignment;
+import com.staffing.model.Collaborator;
+import com.staffing.model.enums.CollaboratorStatus;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Critères des listes de collaborateurs, utilisés par la pagination keyset.
+ */
+public final class CollaboratorSpecifications {
+
+    private CollaboratorSpecifications() {
+    }
+
+    public static Specification<Collaborator> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static Specification<Collaborator> active(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    public static Specification<Collaborator> hasStatus(CollaboratorStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Collaborator> nameOrEmailContains(String text) {
+        return (root, query, cb) -> {
+            String pattern = "%" + text.toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern),
+                    cb.like(cb.lower(root.get("email")), pattern));
+        };
+    }
+
+    public static Specification<Collaborator> hasSkill(String skillName) {
+        return (root, query, cb) -> {
+            query.distinct(true);
+            return cb.equal(root.join("skills").get("name"), skillName);
+        };
+    }
+
+    public static Specification<Collaborator> assignedToProject(Long projectId) {
+        return (root, query, cb) -> {
+            Subquery<Long> assignment = query.subquery(Long.class);
+            Root<Assignment> a = assignment.from(Assignment.class);
+            assignment.select(a.get("id")).where(
+                    cb.equal(a.get("collaborator"), root),
+                    cb.equal(a.get("project").get("id"), projectId));
+            return cb.exists(assignment);
+        };
+    }
+
+    // Aucune affectation dont le projet chevauche la période [startDate, endDate]
+    public static Specification<Collaborator> freeDuring(LocalDate startDate, LocalDate endDate) {
+        return (root, query, cb) -> {
+            Subquery<Long> assignment = query.subquery(Long.class);
+            Root<Assignment> a = assignment.from(Assignment.class);
+            assignment.select(a.get("id")).where(
+                    cb.equal(a.get("collaborator"), root),
+                    cb.lessThanOrEqualTo(a.get("project").get("startDate"), endDate),
+                    cb.greaterThanOrEqualTo(a.get("project").get("endDate"), startDate));
+            return cb.not(cb.exists(assignment));
+        };
+    }
+}
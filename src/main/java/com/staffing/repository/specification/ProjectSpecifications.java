@@ -0,0 +1,70 @@
+package com.staffing.repository.specification;
+
+import com.staffing.model.Assignment;
+import com.staffing.model.Project;
+import com.staffing.model.Skill;
+import com.staffing.model.enums.ProjectStatus;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Critères des listes de projets, utilisés par la pagination keyset.
+ */
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications() {
+    }
+
+    public static Specification<Project> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static Specification<Project> active(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    public static Specification<Project> hasStatus(ProjectStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Project> hasClient(String client) {
+        return (root, query, cb) -> cb.equal(root.get("client"), client);
+    }
+
+    public static Specification<Project> inProgress(LocalDate today) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), ProjectStatus.EN_COURS),
+                cb.greaterThanOrEqualTo(root.get("endDate"), today));
+    }
+
+    // Projets en retard : échéance dépassée et non terminés
+    public static Specification<Project> critical(LocalDate today) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThan(root.get("endDate"), today),
+                cb.notEqual(root.get("status"), ProjectStatus.TERMINE));
+    }
+
+    public static Specification<Project> hasAnySkill(Collection<String> skillNames) {
+        return (root, query, cb) -> {
+            query.distinct(true);
+            Join<Project, Skill> skills = root.join("skills");
+            return skills.get("name").in(skillNames);
+        };
+    }
+
+    public static Specification<Project> assignedTo(Long collaboratorId) {
+        return (root, query, cb) -> {
+            Subquery<Long> assignment = query.subquery(Long.class);
+            Root<Assignment> a = assignment.from(Assignment.class);
+            assignment.select(a.get("id")).where(
+                    cb.equal(a.get("project"), root),
+                    cb.equal(a.get("collaborator").get("id"), collaboratorId));
+            return cb.exists(assignment);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.staffing.security;
+
+import com.staffing.model.User;
+import com.staffing.model.enums.UserRole;
+import com.staffing.service.CustomUserDetailsService.CustomUserDetails;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+
+import java.util.Optional;
+
+/**
+ * Utilisateur courant reconstruit depuis les claims du JWT, sans lecture en base.
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    // Accepte aussi le principal complet posé par l'authentification par mot de passe
+    public static Optional<AuthenticatedUser> from(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        if (principal instanceof CustomUserDetails details) {
+            User user = details.getUser();
+            return Optional.of(new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole()));
+        }
+        return Optional.empty();
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -18,10 +17,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,11 +26,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Autowired
-    private JwtTokenProvider tokenProvider;
+    private JwtTokenVerifier tokenVerifier;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -43,34 +43,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             
             if (StringUtils.hasText(jwt)) {
                 logger.debug("JWT token found in request");
-                if (tokenProvider.validateToken(jwt)) {
-                    String username = tokenProvider.getUsernameFromJWT(jwt);
-                    String roles = tokenProvider.getRolesFromJWT(jwt);
-                    logger.debug("Valid JWT token for user: {} with roles: {}", username, roles);
+                Optional<JwtPrincipal> principal = tokenVerifier.verify(jwt);
+                if (principal.isPresent()) {
+                    String username = principal.get().username();
+                    List<SimpleGrantedAuthority> authorities = principal.get().authorities();
+                    logger.debug("Valid JWT token for user: {} with roles: {}", username, authorities);
+
+                    Object user = resolveUser(principal.get());
+                    if (user != null) {
+                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                user, null, authorities);
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    List<SimpleGrantedAuthority> authorities;
-                    if (roles != null && !roles.isEmpty()) {
-                        authorities = Arrays.stream(roles.split(","))
-                                .map(role -> {
-                                    String normalizedRole = role.trim();
-                                    if (!normalizedRole.startsWith("ROLE_")) {
-                                        normalizedRole = "ROLE_" + normalizedRole;
-                                    }
-                                    return new SimpleGrantedAuthority(normalizedRole);
-                                })
-                                .collect(Collectors.toList());
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        logger.debug("Authentication successful for user: {}", username);
                     } else {
-                        authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+                        logger.warn("Revoked or outdated JWT token for user: {}", username);
                     }
-
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, authorities);
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug("Authentication successful for user: {}", username);
                 } else {
                     logger.error("Invalid JWT token");
                 }
@@ -84,14 +73,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Jeton récent (identifiant et version présents) : utilisateur reconstruit depuis
+     * les claims, null si sa version n'est plus en vigueur. Jeton plus ancien :
+     * utilisateur lu via le UserDetailsService.
+     */
+    private Object resolveUser(JwtPrincipal principal) {
+        if (!principal.isStateless()) {
+            return userDetailsService.loadUserByUsername(principal.username());
+        }
+        if (!tokenVersionRegistry.isCurrent(principal.userId(), principal.version())) {
+            return null;
+        }
+        return new AuthenticatedUser(principal.userId(), principal.username(), principal.role());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
-        logger.debug("Authorization header: {}", bearerToken);
-        
+
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            String token = bearerToken.substring(7);
-            logger.debug("Extracted JWT token: {}", token);
-            return token;
+            return bearerToken.substring(7);
         }
         return null;
     }
@@ -0,0 +1,63 @@
+package com.staffing.security;
+
+import com.staffing.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contenu utile d'un JWT vérifié : sujet, rôles normalisés (préfixe ROLE_),
+ * date d'expiration et, pour les jetons récents, identifiant et version de
+ * l'utilisateur. Immuable, il peut être partagé entre requêtes.
+ */
+public record JwtPrincipal(String username, List<SimpleGrantedAuthority> authorities, Instant expiresAt,
+                           Long userId, Integer version) {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String VERSION_CLAIM = "ver";
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    public static JwtPrincipal fromClaims(Claims claims) {
+        String roles = claims.get("roles", String.class);
+        List<SimpleGrantedAuthority> authorities;
+        if (roles != null && !roles.isEmpty()) {
+            authorities = Arrays.stream(roles.split(","))
+                    .map(String::trim)
+                    .filter(role -> !role.isEmpty())
+                    .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+        } else {
+            authorities = List.of(new SimpleGrantedAuthority(DEFAULT_ROLE));
+        }
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.MAX;
+        return new JwtPrincipal(claims.getSubject(), authorities, expiresAt,
+                claims.get(USER_ID_CLAIM, Long.class), claims.get(VERSION_CLAIM, Integer.class));
+    }
+
+    // Jeton suffisant pour reconstruire l'utilisateur sans lecture en base
+    public boolean isStateless() {
+        return userId != null && version != null;
+    }
+
+    // Rôle applicatif déduit des autorités ; null si aucune ne correspond
+    public UserRole role() {
+        for (SimpleGrantedAuthority authority : authorities) {
+            String name = authority.getAuthority().substring("ROLE_".length());
+            for (UserRole role : UserRole.values()) {
+                if (role.name().equals(name)) {
+                    return role;
+                }
+            }
+        }
+        return null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -2,12 +2,13 @@ package com.staffing.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -26,17 +27,26 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    // Clé et parseur construits une seule fois : JwtParser est thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        String roles = userPrincipal.getAuthorities().stream()
+        String roles = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
@@ -44,48 +54,44 @@ public class JwtTokenProvider {
             roles = "ROLE_USER"; // Default role if none is present
         }
 
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(authentication.getName())
                 .claim("roles", roles)
                 .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+                .setExpiration(expiryDate);
+
+        // Identifiant et version : le filtre reconstruit l'utilisateur sans lecture en base
+        AuthenticatedUser user = AuthenticatedUser.from(authentication).orElse(null);
+        if (user != null && user.id() != null) {
+            builder.claim(JwtPrincipal.USER_ID_CLAIM, user.id())
+                    .claim(JwtPrincipal.VERSION_CLAIM, tokenVersionRegistry.currentVersion(user.id()));
+        }
+
+        return builder.signWith(signingKey, SignatureAlgorithm.HS512).compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Vérifie la signature et l'expiration ; lève une JwtException sinon
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
 
-        return claims.getSubject();
+    public String getUsernameFromJWT(String token) {
+        return parseClaims(token).getSubject();
     }
 
     public String getRolesFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("roles", String.class);
+        return parseClaims(token).get("roles", String.class);
     }
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
+            parser.parseClaimsJws(authToken);
             logger.debug("JWT token is valid");
             return true;
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token: {}", ex.getMessage());
-            logger.debug("Token content: {}", authToken);
         } catch (ExpiredJwtException ex) {
             logger.error("Expired JWT token: {}", ex.getMessage());
             logger.debug("Token expiration date: {}", ex.getClaims().getExpiration());
@@ -0,0 +1,93 @@
+package com.staffing.security;
+
+import com.staffing.util.TokenHashUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Vérifie un JWT en un seul parsing et mémorise le résultat.
+ * <p>
+ * Les jetons déjà vérifiés sont conservés, indexés par leur empreinte SHA-256
+ * (le jeton lui-même n'est pas gardé en mémoire), jusqu'à leur expiration et
+ * au plus app.jwt.verified-cache-ttl-ms : une requête répétée avec le même
+ * jeton ne refait ni parsing ni HMAC.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifier.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+
+    public JwtTokenVerifier(JwtTokenProvider tokenProvider,
+                            @Value("${app.jwt.verified-cache-size:10000}") long cacheSize,
+                            @Value("${app.jwt.verified-cache-ttl-ms:300000}") long cacheTtlMs) {
+        this.tokenProvider = tokenProvider;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        Duration untilExpiry = Duration.between(Instant.now(), principal.expiresAt());
+                        return Math.max(0, Math.min(untilExpiry.toNanos(), Duration.ofMillis(cacheTtlMs).toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, principal, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Principal du jeton, ou vide si le jeton est invalide ou expiré
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String digest = TokenHashUtil.sha256(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+
+        try {
+            JwtPrincipal principal = JwtPrincipal.fromClaims(tokenProvider.parseClaims(token));
+            verifiedTokens.put(digest, principal);
+            return Optional.of(principal);
+        } catch (SecurityException ex) {
+            logger.error("Invalid JWT signature: {}", ex.getMessage());
+        } catch (MalformedJwtException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
+        } catch (ExpiredJwtException ex) {
+            logger.error("Expired JWT token: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            logger.error("Unsupported JWT token: {}", ex.getMessage());
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.error("JWT token rejected: {}", ex.getMessage());
+        }
+        return Optional.empty();
+    }
+}
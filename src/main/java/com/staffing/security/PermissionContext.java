@@ -0,0 +1,106 @@
+package com.staffing.security;
+
+import com.staffing.model.User;
+import com.staffing.model.enums.UserRole;
+import com.staffing.service.CustomUserDetailsService.CustomUserDetails;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Function;
+
+/**
+ * Identité et droits de l'utilisateur courant, calculés une seule fois par requête.
+ * <p>
+ * Le contexte est mémorisé dans les attributs de la requête et reste lié à
+ * l'objet Authentication qui l'a produit : si l'authentification change en
+ * cours de requête (connexion), il est recalculé. Hors requête HTTP (tâches
+ * planifiées), il est recalculé à chaque appel.
+ */
+public final class PermissionContext {
+
+    private static final String ATTRIBUTE = PermissionContext.class.getName();
+
+    private final Authentication authentication;
+    private final AuthenticatedUser user;
+    private final UserRole role;
+    // Rôle et permissions, voir PermissionMask
+    private final int mask;
+
+    // Entité complète, lue à la première demande seulement
+    private User currentUser;
+    private boolean currentUserLoaded;
+
+    private PermissionContext(Authentication authentication) {
+        this.authentication = authentication;
+        this.user = AuthenticatedUser.from(authentication).orElse(null);
+        this.role = user != null ? user.role() : null;
+        this.mask = PermissionMask.of(role);
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details) {
+            this.currentUser = details.getUser();
+            this.currentUserLoaded = true;
+        }
+    }
+
+    public static PermissionContext current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new PermissionContext(authentication);
+        }
+        Object cached = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof PermissionContext context && context.authentication == authentication) {
+            return context;
+        }
+        PermissionContext context = new PermissionContext(authentication);
+        attributes.setAttribute(ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+        return context;
+    }
+
+    public boolean isAuthenticated() {
+        return user != null;
+    }
+
+    public Long getUserId() {
+        return user != null ? user.id() : null;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public boolean hasRole(UserRole expected) {
+        return (mask & PermissionMask.roleBit(expected)) != 0;
+    }
+
+    // Toutes les permissions de {@code permissions} (constantes de PermissionMask) sont accordées
+    public boolean has(int permissions) {
+        return (mask & permissions) == permissions;
+    }
+
+    public boolean canWrite() {
+        return has(PermissionMask.WRITE);
+    }
+
+    public boolean canManageUsers() {
+        return has(PermissionMask.MANAGE_USERS);
+    }
+
+    public boolean canManageAssignments() {
+        return has(PermissionMask.MANAGE_ASSIGNMENTS);
+    }
+
+    // Entité de l'utilisateur courant ; loader n'est appelé qu'une fois par requête
+    public User getCurrentUser(Function<Long, User> loader) {
+        if (!currentUserLoaded) {
+            currentUser = user != null ? loader.apply(user.id()) : null;
+            currentUserLoaded = true;
+        }
+        return currentUser;
+    }
+}
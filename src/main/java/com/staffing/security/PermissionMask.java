@@ -0,0 +1,91 @@
+package com.staffing.security;
+
+import com.staffing.model.enums.UserRole;
+
+/**
+ * Droits encodés sur un entier : un bit par permission (bits bas) et un bit par
+ * rôle (à partir de ROLE_SHIFT). Le masque de chaque rôle est calculé une fois
+ * depuis les indicateurs de UserRole ; une vérification se réduit alors à un ET
+ * binaire.
+ */
+public final class PermissionMask {
+
+    public static final int READ = 1;
+    public static final int WRITE = 1 << 1;
+    public static final int MANAGE_USERS = 1 << 2;
+    public static final int MANAGE_ASSIGNMENTS = 1 << 3;
+    public static final int DELETE = 1 << 4;
+
+    private static final int ROLE_SHIFT = 16;
+
+    // Indexé par ordinal de UserRole
+    private static final int[] ROLE_MASKS = new int[UserRole.values().length];
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            int mask = roleBit(role);
+            if (role.canRead()) {
+                mask |= READ;
+            }
+            if (role.canWrite()) {
+                mask |= WRITE;
+            }
+            if (role.canManageUsers()) {
+                mask |= MANAGE_USERS;
+            }
+            if (role.canManageAssignments()) {
+                mask |= MANAGE_ASSIGNMENTS;
+            }
+            if (role.canDelete()) {
+                mask |= DELETE;
+            }
+            ROLE_MASKS[role.ordinal()] = mask;
+        }
+    }
+
+    private PermissionMask() {
+    }
+
+    public static int roleBit(UserRole role) {
+        return 1 << (ROLE_SHIFT + role.ordinal());
+    }
+
+    // Rôle et permissions accordés ; 0 pour un utilisateur anonyme
+    public static int of(UserRole role) {
+        return role != null ? ROLE_MASKS[role.ordinal()] : 0;
+    }
+
+    /**
+     * Exigence d'une méthode annotée : au moins un des rôles de {@code anyRole}
+     * et toutes les permissions de {@code allPermissions}.
+     */
+    public record Requirement(int anyRole, int allPermissions) {
+
+        public static Requirement of(RequiresRole annotation) {
+            int roles = 0;
+            for (UserRole role : annotation.value()) {
+                roles |= roleBit(role);
+            }
+            int permissions = 0;
+            if (annotation.requireWrite()) {
+                permissions |= WRITE;
+            }
+            if (annotation.requireUserManagement()) {
+                permissions |= MANAGE_USERS;
+            }
+            if (annotation.requireAssignmentManagement()) {
+                permissions |= MANAGE_ASSIGNMENTS;
+            }
+            return new Requirement(roles, permissions);
+        }
+
+        public boolean hasRole(int granted) {
+            return (granted & anyRole) != 0;
+        }
+
+        // Permissions exigées mais non accordées
+        public int missingPermissions(int granted) {
+            return allPermissions & ~granted;
+        }
+    }
+}
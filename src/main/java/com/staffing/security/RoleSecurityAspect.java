@@ -1,55 +1,50 @@
 package com.staffing.security;
 
-import com.staffing.model.User;
-import com.staffing.model.enums.UserRole;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Aspect
 @Component
 public class RoleSecurityAspect {
 
+    // Exigence de chaque méthode annotée, lue par réflexion au premier appel seulement
+    private final Map<Method, PermissionMask.Requirement> requirements = new ConcurrentHashMap<>();
+
     @Before("@annotation(com.staffing.security.RequiresRole)")
     public void checkRole(JoinPoint joinPoint) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        RequiresRole requiresRole = signature.getMethod().getAnnotation(RequiresRole.class);
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        PermissionMask.Requirement requirement = requirements.computeIfAbsent(method,
+                m -> PermissionMask.Requirement.of(m.getAnnotation(RequiresRole.class)));
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        PermissionContext permissions = PermissionContext.current();
+        if (!permissions.isAuthenticated()) {
             throw new SecurityException("User not authenticated");
         }
 
-        User user = (User) authentication.getPrincipal();
-        UserRole userRole = user.getRole();
-        boolean hasRequiredRole = false;
-
-        for (UserRole role : requiresRole.value()) {
-            if (userRole == role) {
-                hasRequiredRole = true;
-                break;
-            }
-        }
-
-        if (!hasRequiredRole) {
+        int granted = permissions.getMask();
+        if (!requirement.hasRole(granted)) {
             throw new SecurityException("Insufficient role privileges");
         }
 
         // Vérifier les permissions spécifiques
-        if (requiresRole.requireWrite() && !userRole.canWrite()) {
+        int missing = requirement.missingPermissions(granted);
+        if ((missing & PermissionMask.WRITE) != 0) {
             throw new SecurityException("Write permission required");
         }
 
-        if (requiresRole.requireUserManagement() && !userRole.canManageUsers()) {
+        if ((missing & PermissionMask.MANAGE_USERS) != 0) {
             throw new SecurityException("User management permission required");
         }
 
-        if (requiresRole.requireAssignmentManagement() && !userRole.canManageAssignments()) {
+        if ((missing & PermissionMask.MANAGE_ASSIGNMENTS) != 0) {
             throw new SecurityException("Assignment management permission required");
         }
     }
-} 
\ No newline at end of file
+}
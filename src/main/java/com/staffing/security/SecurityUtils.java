@@ -2,72 +2,55 @@ package com.staffing.security;
 
 import com.staffing.model.User;
 import com.staffing.model.enums.UserRole;
-import com.staffing.service.CustomUserDetailsService.CustomUserDetails;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.staffing.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.cache.annotation.Cacheable;
 
+/**
+ * Vérifications de droits sur l'utilisateur courant, lues dans le
+ * PermissionContext de la requête.
+ */
 @Component
 public class SecurityUtils {
 
-    @Cacheable(value = "currentUser", key = "'current'")
+    @Autowired
+    private UserRepository userRepository;
+
+    // Entité complète : lue en base, une fois par requête, lorsque le principal vient d'un JWT
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
-        }
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof CustomUserDetails) {
-            return ((CustomUserDetails) principal).getUser();
-        }
-        return null;
+        return PermissionContext.current().getCurrentUser(id -> userRepository.findById(id).orElse(null));
     }
 
     public Long getCurrentUserId() {
-        User currentUser = getCurrentUser();
-        return currentUser != null ? currentUser.getId() : null;
+        return PermissionContext.current().getUserId();
     }
 
-    @Cacheable(value = "userRoles", key = "'isAdmin'")
     public boolean isAdmin() {
-        User currentUser = getCurrentUser();
-        return currentUser != null && currentUser.getRole() == UserRole.ADMIN;
+        return PermissionContext.current().hasRole(UserRole.ADMIN);
     }
 
-    @Cacheable(value = "userRoles", key = "'isManager'")
     public boolean isManager() {
-        User currentUser = getCurrentUser();
-        return currentUser != null && currentUser.getRole() == UserRole.MANAGER;
+        return PermissionContext.current().hasRole(UserRole.MANAGER);
     }
 
-    @Cacheable(value = "userRoles", key = "'canRead'")
     public boolean canRead() {
-        return getCurrentUser() != null;
+        return PermissionContext.current().isAuthenticated();
     }
 
-    @Cacheable(value = "userRoles", key = "'canWrite'")
     public boolean canWrite() {
-        User currentUser = getCurrentUser();
-        return currentUser != null && 
-               (currentUser.getRole() == UserRole.ADMIN || 
-                currentUser.getRole() == UserRole.MANAGER);
+        return PermissionContext.current().canWrite();
     }
 
-    @Cacheable(value = "userRoles", key = "'canManageUsers'")
     public boolean canManageUsers() {
-        return isAdmin();
+        return PermissionContext.current().canManageUsers();
     }
 
     public boolean canManageAssignments() {
-        User currentUser = getCurrentUser();
-        return currentUser != null && 
-               (currentUser.getRole() == UserRole.ADMIN || 
-                currentUser.getRole() == UserRole.MANAGER);
+        return PermissionContext.current().canManageAssignments();
     }
 
     public boolean isCurrentUser(Long userId) {
         Long currentUserId = getCurrentUserId();
         return currentUserId != null && currentUserId.equals(userId);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package com.staffing.security;
+
+import com.staffing.model.UserTokenVersion;
+import com.staffing.repository.UserTokenVersionRepository;
+import com.staffing.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copie locale de la table user_token_versions, consultée à chaque requête
+ * authentifiée par JWT.
+ * <p>
+ * Seuls les utilisateurs dont la version a changé y figurent : l'absence
+ * d'entrée vaut version 0. La copie est rechargée par incréments toutes les
+ * app.jwt.version-refresh-ms ; une modification faite sur ce nœud y est
+ * appliquée dès la validation de la transaction.
+ */
+@Component
+public class TokenVersionRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    // Recouvrement des lectures incrémentales : couvre les transactions validées en retard
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private record State(int version, boolean revoked) {
+    }
+
+    private final UserTokenVersionRepository repository;
+    private final Map<Long, State> states = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSeen;
+    private volatile boolean loaded;
+
+    public TokenVersionRegistry(UserTokenVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    public int currentVersion(Long userId) {
+        ensureLoaded();
+        State state = states.get(userId);
+        return state != null ? state.version() : 0;
+    }
+
+    // Le jeton porte-t-il la version en vigueur d'un utilisateur non révoqué ?
+    public boolean isCurrent(Long userId, int version) {
+        ensureLoaded();
+        State state = states.get(userId);
+        if (state == null) {
+            return version == 0;
+        }
+        return !state.revoked() && state.version() == version;
+    }
+
+    // Invalide les jetons existants (rôle ou mot de passe modifié)
+    @Transactional
+    public void invalidateTokens(Long userId) {
+        bump(userId, false);
+    }
+
+    // Refuse définitivement les jetons de l'utilisateur (suppression)
+    @Transactional
+    public void revoke(Long userId) {
+        bump(userId, true);
+    }
+
+    private void bump(Long userId, boolean revoked) {
+        repository.bumpVersion(userId, revoked);
+        Runnable apply = () -> states.merge(userId, new State(1, revoked),
+                (old, initial) -> new State(Math.max(old.version() + 1, 1), revoked));
+        TransactionCallbacks.afterCommit(apply);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.version-refresh-ms:5000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (DataAccessException e) {
+            logger.warn("Rechargement des versions de jetons impossible: {}", e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private synchronized void load() {
+        LocalDateTime since = lastSeen == null ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : lastSeen.minusSeconds(SYNC_OVERLAP_SECONDS);
+        List<UserTokenVersion> changes = repository.findByUpdatedAtAfter(since);
+        for (UserTokenVersion change : changes) {
+            states.put(change.getUserId(), new State(change.getVersion(), change.isRevoked()));
+            if (lastSeen == null || change.getUpdatedAt().isAfter(lastSeen)) {
+                lastSeen = change.getUpdatedAt();
+            }
+        }
+        if (!loaded) {
+            loaded = true;
+            logger.info("Versions de jetons chargées: {} utilisateurs", states.size());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.staffing.service;
+
+import com.staffing.dto.ReleaseSummaryDTO;
+import com.staffing.model.enums.CollaboratorStatus;
+import com.staffing.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Libération des affectations en masse.
+ * <p>
+ * Une seule instruction supprime les affectations ciblées (DELETE ... RETURNING)
+ * et repasse DISPONIBLE les collaborateurs dont le projet n'est ni terminé ni
+ * annulé. Les lignes ne transitent pas par Hibernate : statistiques, matrice
+ * des écarts de compétences et caches dérivés sont notifiés une fois par lot,
+ * après validation.
+ */
+@Service
+public class AssignmentReleaseService {
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentReleaseService.class);
+
+    private static final List<String> DERIVED_CACHES = List.of("dashboardStats", "collaboratorStats", "releaseForecast");
+
+    // %s : condition sur a (assignments) et p (projects)
+    private static final String RELEASE =
+            "WITH released AS (" +
+            "  DELETE FROM assignments a USING projects p WHERE a.project_id = p.id AND %s" +
+            "  RETURNING a.collaborator_id, p.status" +
+            "), freed AS (" +
+            "  UPDATE collaborators c SET status = 'DISPONIBLE'" +
+            "  WHERE c.id IN (SELECT collaborator_id FROM released WHERE status NOT IN ('TERMINE', 'ANNULE'))" +
+            "  RETURNING c.id" +
+            ") SELECT (SELECT count(*) FROM released) AS released, ARRAY(SELECT id FROM freed) AS freed";
+
+    private static final String BY_PROJECT_AND_COLLABORATORS =
+            String.format(RELEASE, "a.project_id = ? AND a.collaborator_id = ANY(?)");
+    private static final String BY_PROJECT = String.format(RELEASE, "a.project_id = ?");
+    private static final String BY_COLLABORATOR = String.format(RELEASE, "a.collaborator_id = ?");
+    private static final String ENDING_CHUNK = String.format(RELEASE,
+            "a.id IN (SELECT e.id FROM assignments e JOIN projects ep ON ep.id = e.project_id " +
+            "WHERE ep.end_date < ? LIMIT ?)");
+
+    private record Chunk(int released, List<Long> freed) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatisticsStore statisticsStore;
+    private final SkillGapService skillGapService;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+    private final int horizonDays;
+
+    public AssignmentReleaseService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    StatisticsStore statisticsStore,
+                                    SkillGapService skillGapService,
+                                    CacheManager cacheManager,
+                                    @Value("${app.assignments.release-chunk-size:1000}") int chunkSize,
+                                    @Value("${app.assignments.release-horizon-days:30}") int horizonDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.statisticsStore = statisticsStore;
+        this.skillGapService = skillGapService;
+        this.cacheManager = cacheManager;
+        // 0 bouclerait indéfiniment (chaque lot « plein ») et LIMIT refuse les valeurs négatives
+        this.chunkSize = Math.max(1, chunkSize);
+        this.horizonDays = horizonDays;
+    }
+
+    @Transactional
+    public ReleaseSummaryDTO releaseFromProject(Long projectId, Collection<Long> collaboratorIds) {
+        long start = System.nanoTime();
+        Chunk chunk = execute(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BY_PROJECT_AND_COLLABORATORS);
+            ps.setLong(1, projectId);
+            ps.setArray(2, connection.createArrayOf("bigint", collaboratorIds.toArray()));
+            return ps;
+        });
+        return summary(chunk, start);
+    }
+
+    @Transactional
+    public ReleaseSummaryDTO releaseAllFromProject(Long projectId) {
+        long start = System.nanoTime();
+        Chunk chunk = execute(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BY_PROJECT);
+            ps.setLong(1, projectId);
+            return ps;
+        });
+        return summary(chunk, start);
+    }
+
+    @Transactional
+    public ReleaseSummaryDTO releaseCollaborator(Long collaboratorId) {
+        long start = System.nanoTime();
+        Chunk chunk = execute(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BY_COLLABORATOR);
+            ps.setLong(1, collaboratorId);
+            return ps;
+        });
+        return summary(chunk, start);
+    }
+
+    /**
+     * Affectations des projets se terminant avant l'horizon, par lots de
+     * app.assignments.release-chunk-size validés chacun dans leur propre
+     * transaction : un balayage volumineux ne verrouille pas toute la table
+     * et un échec ne perd que le lot en cours.
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public ReleaseSummaryDTO releaseEndingProjects() {
+        long start = System.nanoTime();
+        Date horizon = Date.valueOf(LocalDate.now().plusDays(horizonDays));
+        int released = 0;
+        int freed = 0;
+        int chunks = 0;
+        Chunk chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> execute(connection -> {
+                PreparedStatement ps = connection.prepareStatement(ENDING_CHUNK);
+                ps.setDate(1, horizon);
+                ps.setInt(2, chunkSize);
+                return ps;
+            }));
+            released += chunk.released();
+            freed += chunk.freed().size();
+            chunks++;
+        } while (chunk.released() >= chunkSize);
+
+        ReleaseSummaryDTO summary = new ReleaseSummaryDTO(released, freed, chunks, elapsedMs(start));
+        logger.info("Libération des projets se terminant avant le {} : {} affectations, {} collaborateurs, {} lots en {} ms",
+                horizon, released, freed, chunks, summary.getDurationMs());
+        return summary;
+    }
+
+    // Désactivé par défaut (cron "-") : le balayage reste disponible via PUT /api/assignments/remove-ending
+    @Scheduled(cron = "${app.assignments.release-cron:-}")
+    public void scheduledRelease() {
+        try {
+            releaseEndingProjects();
+        } catch (DataAccessException e) {
+            logger.warn("Libération des affectations des projets terminés impossible: {}", e.getMessage());
+        }
+    }
+
+    private Chunk execute(PreparedStatementCreator statement) {
+        Chunk chunk = jdbcTemplate.query(statement, rs -> {
+            rs.next();
+            Long[] freed = (Long[]) rs.getArray("freed").getArray();
+            return new Chunk(rs.getInt("released"), Arrays.asList(freed));
+        });
+        if (chunk.released() > 0) {
+            statisticsStore.collaboratorsStatusChanged(chunk.freed(), CollaboratorStatus.DISPONIBLE);
+            skillGapService.markDirty();
+            TransactionCallbacks.afterCommit(() -> DERIVED_CACHES.forEach(name -> {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }));
+        }
+        return chunk;
+    }
+
+    private ReleaseSummaryDTO summary(Chunk chunk, long start) {
+        return new ReleaseSummaryDTO(chunk.released(), chunk.freed().size(), 1, elapsedMs(start));
+    }
+
+    private static long elapsedMs(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -1,6 +1,9 @@
 package com.staffing.service;
 
 import com.staffing.dto.AssignmentDTO;
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
+import com.staffing.dto.ReleaseSummaryDTO;
 import com.staffing.model.Assignment;
 import com.staffing.model.Collaborator;
 import com.staffing.model.Project;
@@ -9,47 +12,66 @@ import com.staffing.model.enums.ProjectStatus;
 import com.staffing.repository.AssignmentRepository;
 import com.staffing.repository.CollaboratorRepository;
 import com.staffing.repository.ProjectRepository;
+import com.staffing.util.KeysetPaginator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.HashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class AssignmentService {
+    // Propriétés non nulles utilisables comme clé de pagination keyset
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("createdAt");
+
     private final AssignmentRepository assignmentRepository;
     private final CollaboratorRepository collaboratorRepository;
     private final ProjectRepository projectRepository;
+    private final EntityStreamer entityStreamer;
+    private final AssignmentReleaseService assignmentReleaseService;
 
+    @Transactional(readOnly = true)
     public List<AssignmentDTO> getAllAssignments() {
-        return assignmentRepository.findAll().stream()
-                .map(AssignmentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return assignmentRepository.findAllListRows();
     }
 
+    // Toutes les affectations, transmises une par une à sink sans construire de liste
+    @Transactional(readOnly = true)
+    public long streamAllAssignments(Consumer<? super AssignmentDTO> sink) {
+        return entityStreamer.stream(assignmentRepository::streamAll, AssignmentDTO::fromEntity, sink);
+    }
+
+    // Liste paginée par curseur, sans COUNT(*) sauf si includeTotal est demandé
+    public KeysetPage<AssignmentDTO> getAssignmentsPage(Specification<Assignment> spec, KeysetPageRequest pageRequest) {
+        return KeysetPaginator.scroll(assignmentRepository, spec, pageRequest, SORTABLE_PROPERTIES)
+                .map(AssignmentDTO::fromEntity);
+    }
+
+    @Transactional(readOnly = true)
     public AssignmentDTO getAssignmentById(Long id) {
-        return assignmentRepository.findById(id)
-                .map(AssignmentDTO::fromEntity)
+        return assignmentRepository.findListRowById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Assignment not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<AssignmentDTO> getAssignmentsByCollaboratorId(Long collaboratorId) {
-        return assignmentRepository.findByCollaboratorId(collaboratorId).stream()
-                .map(AssignmentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return assignmentRepository.findListRowsByCollaboratorId(collaboratorId);
     }
 
+    @Transactional(readOnly = true)
     public List<AssignmentDTO> getAssignmentsByProjectId(Long projectId) {
-        return assignmentRepository.findByProjectId(projectId).stream()
-                .map(AssignmentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return assignmentRepository.findListRowsByProjectId(projectId);
     }
 
     public AssignmentDTO createAssignment(AssignmentDTO assignmentDTO) {
@@ -166,103 +188,50 @@ public class AssignmentService {
         assignmentRepository.delete(assignment);
     }
 
-    public void removeCollaboratorsFromProject(Long projectId, List<Long> collaboratorIds) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+    public ReleaseSummaryDTO removeCollaboratorsFromProject(Long projectId, List<Long> collaboratorIds) {
+        requireOpenProject(projectId);
+        return assignmentReleaseService.releaseFromProject(projectId, collaboratorIds);
+    }
 
-        if (project.getStatus() == ProjectStatus.TERMINE || project.getStatus() == ProjectStatus.ANNULE) {
-            throw new IllegalStateException("Impossible de retirer des collaborateurs d'un projet terminé ou annulé");
-        }
+    public ReleaseSummaryDTO removeAllCollaboratorsFromProject(Long projectId) {
+        requireOpenProject(projectId);
+        return assignmentReleaseService.releaseAllFromProject(projectId);
+    }
 
-        List<Assignment> assignments = assignmentRepository.findByProjectIdAndCollaboratorIdIn(projectId, collaboratorIds);
-        
-        for (Assignment assignment : assignments) {
-            Collaborator collaborator = assignment.getCollaborator();
-            collaborator.setStatus(CollaboratorStatus.DISPONIBLE);
-            collaboratorRepository.save(collaborator);
-            assignmentRepository.delete(assignment);
+    public ReleaseSummaryDTO removeCollaboratorFromAllProjects(Long collaboratorId) {
+        if (!collaboratorRepository.existsById(collaboratorId)) {
+            throw new EntityNotFoundException("Collaborator not found with id: " + collaboratorId);
         }
+        return assignmentReleaseService.releaseCollaborator(collaboratorId);
+    }
+
+    // Hors transaction : chaque lot du balayage est validé séparément
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReleaseSummaryDTO removeCollaboratorsFromEndingProjects() {
+        return assignmentReleaseService.releaseEndingProjects();
     }
 
-    public void removeAllCollaboratorsFromProject(Long projectId) {
+    private void requireOpenProject(Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
 
         if (project.getStatus() == ProjectStatus.TERMINE || project.getStatus() == ProjectStatus.ANNULE) {
             throw new IllegalStateException("Impossible de retirer des collaborateurs d'un projet terminé ou annulé");
         }
-
-        List<Assignment> assignments = assignmentRepository.findByProjectId(projectId);
-        
-        for (Assignment assignment : assignments) {
-            Collaborator collaborator = assignment.getCollaborator();
-            collaborator.setStatus(CollaboratorStatus.DISPONIBLE);
-            collaboratorRepository.save(collaborator);
-            assignmentRepository.delete(assignment);
-        }
-    }
-
-    public void removeCollaboratorFromAllProjects(Long collaboratorId) {
-        Collaborator collaborator = collaboratorRepository.findById(collaboratorId)
-                .orElseThrow(() -> new EntityNotFoundException("Collaborator not found with id: " + collaboratorId));
-
-        List<Assignment> assignments = assignmentRepository.findByCollaboratorId(collaboratorId);
-        
-        for (Assignment assignment : assignments) {
-            Project project = assignment.getProject();
-            if (project.getStatus() != ProjectStatus.TERMINE && project.getStatus() != ProjectStatus.ANNULE) {
-                collaborator.setStatus(CollaboratorStatus.DISPONIBLE);
-                collaboratorRepository.save(collaborator);
-            }
-            assignmentRepository.delete(assignment);
-        }
-    }
-
-    public void removeCollaboratorsFromEndingProjects() {
-        LocalDate thirtyDaysFromNow = LocalDate.now().plusDays(30);
-        List<Assignment> endingAssignments = assignmentRepository.findByProjectEndDateBefore(thirtyDaysFromNow);
-
-        for (Assignment assignment : endingAssignments) {
-            Project project = assignment.getProject();
-            if (project.getStatus() != ProjectStatus.TERMINE && project.getStatus() != ProjectStatus.ANNULE) {
-                Collaborator collaborator = assignment.getCollaborator();
-                collaborator.setStatus(CollaboratorStatus.DISPONIBLE);
-                collaboratorRepository.save(collaborator);
-            }
-            assignmentRepository.delete(assignment);
-        }
     }
 
     // Obtenir les statistiques des retraits
+    @Transactional(readOnly = true)
     public Map<String, Object> getRemovalStatistics() {
         Map<String, Object> statistics = new HashMap<>();
-        LocalDate now = LocalDate.now();
-        LocalDate thirtyDaysFromNow = now.plusDays(30);
-        
-        // Récupérer toutes les affectations actives
-        List<Assignment> activeAssignments = assignmentRepository.findByProjectStatusIn(
+        LocalDate thirtyDaysFromNow = LocalDate.now().plusDays(30);
+
+        statistics.put("activeAssignments", assignmentRepository.countByProjectStatusIn(
             List.of(ProjectStatus.EN_COURS, ProjectStatus.EN_DEMARRAGE, ProjectStatus.EN_PAUSE)
-        );
-        statistics.put("activeAssignments", activeAssignments.size());
-        
-        // Calculer le nombre d'affectations qui se terminent dans les 30 jours
-        long endingSoon = activeAssignments.stream()
-            .filter(a -> a.getProject().getEndDate() != null && 
-                        a.getProject().getEndDate().isAfter(now) && 
-                        a.getProject().getEndDate().isBefore(thirtyDaysFromNow))
-            .count();
-        statistics.put("endingSoon", endingSoon);
-        
-        // Calculer le nombre de collaborateurs qui seront libérés
-        long collaboratorsToBeReleased = activeAssignments.stream()
-            .filter(a -> a.getProject().getEndDate() != null && 
-                        a.getProject().getEndDate().isAfter(now) && 
-                        a.getProject().getEndDate().isBefore(thirtyDaysFromNow))
-            .map(Assignment::getCollaborator)
-            .distinct()
-            .count();
-        statistics.put("collaboratorsToBeReleased", collaboratorsToBeReleased);
-        
+        ));
+        statistics.put("endingSoon", assignmentRepository.countAssignmentsEndingSoon(thirtyDaysFromNow));
+        statistics.put("collaboratorsToBeReleased", assignmentRepository.countCollaboratorsToBeReleased(thirtyDaysFromNow));
+
         return statistics;
     }
 
@@ -273,10 +242,9 @@ public class AssignmentService {
                 .noneMatch(assignment -> assignment.getProject().getStatus() == ProjectStatus.EN_COURS);
     }
 
+    @Transactional(readOnly = true)
     public List<AssignmentDTO> getActiveAssignments() {
-        return assignmentRepository.findByProjectStatusIn(List.of(ProjectStatus.EN_DEMARRAGE, ProjectStatus.EN_COURS, ProjectStatus.EN_PAUSE))
-                .stream()
-                .map(AssignmentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return assignmentRepository.findListRowsByProjectStatusIn(
+                List.of(ProjectStatus.EN_DEMARRAGE, ProjectStatus.EN_COURS, ProjectStatus.EN_PAUSE));
     }
 } 
\ No newline at end of file
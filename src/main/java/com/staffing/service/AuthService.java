@@ -7,6 +7,8 @@ import com.staffing.model.User;
 import com.staffing.model.enums.UserRole;
 import com.staffing.repository.UserRepository;
 import com.staffing.security.JwtTokenProvider;
+import com.staffing.security.PermissionContext;
+import com.staffing.security.PermissionMask;
 import com.staffing.security.SecurityUtils;
 import com.staffing.exception.AuthenticationException;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -31,8 +34,12 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
+    private final RefreshTokenService refreshTokenService;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
+    // Exécutée sur le pool de CredentialVerificationService : aucune transaction
+    // (ni connexion JDBC) n'est retenue pendant le hachage
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponseDTO login(LoginDTO loginDTO) {
         try {
             logger.info("Tentative de connexion pour l'email: {}", loginDTO.getEmail());
@@ -55,43 +62,19 @@ public class AuthService {
             logger.info("Authentification réussie pour l'email: {}", loginDTO.getEmail());
             logger.debug("Détails de l'authentification: {}", authentication);
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
             logger.info("Utilisateur trouvé: {} (ID: {})", user.getEmail(), user.getId());
             logger.debug("Rôles de l'utilisateur: {}", user.getRole());
             
             String token = jwtTokenProvider.generateToken(authentication);
             logger.info("Token JWT généré avec succès");
-            logger.debug("Token: {}", token);
             
-            return new AuthResponseDTO(token, user);
+            return new AuthResponseDTO(token, refreshTokenService.issue(user.getId()), user);
         } catch (org.springframework.security.core.AuthenticationException e) {
             logger.error("Échec de l'authentification pour l'email: {}", loginDTO.getEmail(), e);
             throw new AuthenticationException("Email ou mot de passe incorrect");
         }
     }
 
-    public AuthResponseDTO refreshToken() {
-        Authentication currentAuth = SecurityContextHolder.getContext().getAuthentication();
-        if (currentAuth == null || !currentAuth.isAuthenticated() || "anonymousUser".equals(currentAuth.getPrincipal())) {
-            logger.error("Tentative de rafraîchissement du token sans authentification valide");
-            throw new AuthenticationException("Session expirée. Veuillez vous reconnecter.");
-        }
-
-        String username = currentAuth.getName();
-        User user = userRepository.findByEmail(username)
-            .orElseThrow(() -> {
-                logger.error("Utilisateur non trouvé pour l'email: {}", username);
-                return new AuthenticationException("Session invalide. Veuillez vous reconnecter.");
-            });
-
-        logger.info("Rafraîchissement du token pour l'utilisateur: {}", username);
-        String newToken = jwtTokenProvider.generateToken(currentAuth);
-        logger.debug("Nouveau token généré");
-
-        return new AuthResponseDTO(newToken, user);
-    }
-
     public void logout() {
         logger.info("Déconnexion de l'utilisateur: {}", SecurityContextHolder.getContext().getAuthentication().getName());
         SecurityContextHolder.clearContext();
@@ -162,15 +145,15 @@ public class AuthService {
     }
 
     public boolean canWrite() {
-        return hasRole(UserRole.ADMIN) || hasRole(UserRole.MANAGER);
+        return PermissionContext.current().has(PermissionMask.WRITE);
     }
 
     public boolean canManageUsers() {
-        return hasRole(UserRole.ADMIN);
+        return PermissionContext.current().has(PermissionMask.MANAGE_USERS);
     }
 
     public boolean canManageAssignments() {
-        return hasRole(UserRole.ADMIN) || hasRole(UserRole.MANAGER);
+        return PermissionContext.current().has(PermissionMask.MANAGE_ASSIGNMENTS);
     }
 
     public boolean canAccessUser(Long userId) {
@@ -187,13 +170,7 @@ public class AuthService {
     }
 
     private boolean hasRole(UserRole role) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
-            return false;
-        }
-        
-        return auth.getAuthorities().stream()
-            .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + role.name()));
+        return PermissionContext.current().hasRole(role);
     }
 
     private User getCurrentUser() {
@@ -0,0 +1,45 @@
+package com.staffing.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class CacheStatisticsService {
+    private final CacheManager cacheManager;
+
+    public CacheStatisticsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Statistiques Caffeine (succès, échecs, évictions) de chaque cache
+    public Map<String, Map<String, Object>> getCacheStatistics() {
+        Map<String, Map<String, Object>> statistics = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+
+            Map<String, Object> cacheStats = new LinkedHashMap<>();
+            cacheStats.put("size", nativeCache.estimatedSize());
+            cacheStats.put("hitCount", stats.hitCount());
+            cacheStats.put("missCount", stats.missCount());
+            cacheStats.put("hitRate", stats.hitRate());
+            cacheStats.put("evictionCount", stats.evictionCount());
+            cacheStats.put("loadSuccessCount", stats.loadSuccessCount());
+            cacheStats.put("loadFailureCount", stats.loadFailureCount());
+            cacheStats.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+            statistics.put(name, cacheStats);
+        }
+        return statistics;
+    }
+}
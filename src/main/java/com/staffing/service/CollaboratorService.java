@@ -1,6 +1,10 @@
 package com.staffing.service;
 
+import com.staffing.dto.BulkActivationReportDTO;
 import com.staffing.dto.CollaboratorDTO;
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
+import com.staffing.dto.SkillDTO;
 import com.staffing.model.Collaborator;
 import com.staffing.model.Assignment;
 import com.staffing.model.Skill;
@@ -8,32 +12,61 @@ import com.staffing.model.enums.CollaboratorStatus;
 import com.staffing.repository.CollaboratorRepository;
 import com.staffing.repository.AssignmentRepository;
 import com.staffing.repository.SkillRepository;
+import com.staffing.util.KeysetPaginator;
+import com.staffing.util.ProjectionUtil;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.staffing.exception.CollaboratorStatusException;
+import com.staffing.util.TransactionCallbacks;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CollaboratorService {
+    // Propriétés non nulles utilisables comme clé de pagination keyset
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("name", "email");
+
     private final CollaboratorRepository collaboratorRepository;
     private final AssignmentRepository assignmentRepository;
+    private final SkillResolver skillResolver;
+    private final StatisticsStore statisticsStore;
+    private final EntityStreamer entityStreamer;
+    private final SkillGapService skillGapService;
+    private final CacheManager cacheManager;
     private final SkillRepository skillRepository;
 
+    @Transactional(readOnly = true)
     public List<CollaboratorDTO> getAllCollaborators() {
-        return collaboratorRepository.findAll().stream()
-                .map(CollaboratorDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkills(collaboratorRepository.findAllListRows());
+    }
+
+    // Tous les collaborateurs, transmis un par un à sink sans construire de liste
+    @Transactional(readOnly = true)
+    public long streamAllCollaborators(Consumer<? super CollaboratorDTO> sink) {
+        return entityStreamer.stream(collaboratorRepository::streamAll, CollaboratorDTO::fromEntity, sink);
+    }
+
+    // Liste paginée par curseur, sans COUNT(*) sauf si includeTotal est demandé
+    public KeysetPage<CollaboratorDTO> getCollaboratorsPage(Specification<Collaborator> spec, KeysetPageRequest pageRequest) {
+        return KeysetPaginator.scroll(collaboratorRepository, spec, pageRequest, SORTABLE_PROPERTIES)
+                .map(CollaboratorDTO::fromEntity);
     }
 
     public CollaboratorDTO getCollaboratorById(Long id) {
@@ -60,19 +93,7 @@ public class CollaboratorService {
         
         // Gérer les compétences
         if (collaboratorDTO.getSkillNames() != null && !collaboratorDTO.getSkillNames().isEmpty()) {
-            Set<Skill> skills = new HashSet<>();
-            for (String skillName : collaboratorDTO.getSkillNames()) {
-                System.out.println("Processing skill: " + skillName);
-                Skill skill = skillRepository.findByNameIgnoreCase(skillName)
-                        .orElseGet(() -> {
-                            System.out.println("Creating new skill: " + skillName);
-                            Skill newSkill = new Skill();
-                            newSkill.setName(skillName);
-                            newSkill.setCategory("Général"); // Catégorie par défaut
-                            return skillRepository.save(newSkill);
-                        });
-                skills.add(skill);
-            }
+            Set<Skill> skills = skillResolver.resolve(collaboratorDTO.getSkillNames());
             collaborator.setSkills(skills);
             System.out.println("Set skills to collaborator: " + skills);
         }
@@ -121,18 +142,7 @@ public class CollaboratorService {
         }
 
         // Mettre à jour les compétences
-        Set<Skill> skills = new HashSet<>();
-        for (String skillName : collaboratorDTO.getSkillNames()) {
-            Skill skill = skillRepository.findByNameIgnoreCase(skillName)
-                    .orElseGet(() -> {
-                        Skill newSkill = new Skill();
-                        newSkill.setName(skillName);
-                        newSkill.setCategory("Général");
-                        return skillRepository.save(newSkill);
-                    });
-            skills.add(skill);
-        }
-        existingCollaborator.setSkills(skills);
+        existingCollaborator.setSkills(skillResolver.resolve(collaboratorDTO.getSkillNames()));
 
         return CollaboratorDTO.fromEntity(collaboratorRepository.save(existingCollaborator));
     }
@@ -195,17 +205,15 @@ public class CollaboratorService {
     }
 
     // Obtenir les collaborateurs actifs
+    @Transactional(readOnly = true)
     public List<CollaboratorDTO> getActiveCollaborators() {
-        return collaboratorRepository.findActiveCollaborators().stream()
-                .map(CollaboratorDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkills(collaboratorRepository.findListRowsByActive(true));
     }
 
     // Obtenir les collaborateurs inactifs
+    @Transactional(readOnly = true)
     public List<CollaboratorDTO> getInactiveCollaborators() {
-        return collaboratorRepository.findInactiveCollaborators().stream()
-                .map(CollaboratorDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkills(collaboratorRepository.findListRowsByActive(false));
     }
 
     // Obtenir les collaborateurs actifs par statut
@@ -222,34 +230,95 @@ public class CollaboratorService {
                 .collect(Collectors.toList());
     }
 
-    // Désactiver plusieurs collaborateurs en masse
-    public void deactivateCollaborators(List<Long> collaboratorIds) {
-        for (Long id : collaboratorIds) {
-            Collaborator collaborator = collaboratorRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Collaborator not found with id: " + id));
-            
-            // Vérifier s'il y a des affectations actives
-            List<Assignment> activeAssignments = assignmentRepository.findByCollaboratorId(id);
-            if (!activeAssignments.isEmpty()) {
-                throw new IllegalStateException("Impossible de désactiver le collaborateur " + 
-                    collaborator.getName() + 
-                    " car il a des affectations actives");
+    // Désactiver plusieurs collaborateurs en masse : les collaborateurs affectés sont écartés
+    public BulkActivationReportDTO deactivateCollaborators(List<Long> collaboratorIds) {
+        return updateActive(collaboratorIds, false);
+    }
+
+    // Réactiver plusieurs collaborateurs en masse
+    public BulkActivationReportDTO reactivateCollaborators(List<Long> collaboratorIds) {
+        return updateActive(collaboratorIds, true);
+    }
+
+    // Une requête de contrôle et un UPDATE par tranche de ProjectionUtil.ID_BATCH_SIZE identifiants
+    private BulkActivationReportDTO updateActive(List<Long> collaboratorIds, boolean active) {
+        Set<Long> requested = new LinkedHashSet<>(collaboratorIds);
+        BulkActivationReportDTO report = new BulkActivationReportDTO();
+        report.setRequested(requested.size());
+        if (requested.isEmpty()) {
+            return report;
+        }
+
+        Map<Long, Boolean> assigned = new HashMap<>();
+        ProjectionUtil.groupById(List.copyOf(requested), collaboratorRepository::findIdsWithAssignmentFlag)
+                .forEach((id, rows) -> assigned.put(id, (Boolean) rows.get(0)[1]));
+
+        List<Long> toUpdate = new ArrayList<>();
+        for (Long id : requested) {
+            Boolean hasAssignments = assigned.get(id);
+            if (hasAssignments == null) {
+                report.addOutcome(id, BulkActivationReportDTO.Status.NOT_FOUND, "Collaborator not found with id: " + id);
+            } else if (!active && hasAssignments) {
+                report.addOutcome(id, BulkActivationReportDTO.Status.BLOCKED,
+                        "Impossible de désactiver le collaborateur " + id + " car il a des affectations actives");
+            } else {
+                report.addOutcome(id, BulkActivationReportDTO.Status.UPDATED, null);
+                toUpdate.add(id);
             }
-            
-            collaborator.setActive(false);
-            collaboratorRepository.save(collaborator);
         }
+
+        if (!toUpdate.isEmpty()) {
+            report.setUpdated(ProjectionUtil.updateByBatch(toUpdate,
+                    ids -> collaboratorRepository.updateActive(ids, active)));
+            // L'UPDATE ne déclenche pas les listeners JPA : une seule notification pour le lot
+            statisticsStore.collaboratorsActiveChanged(toUpdate, active);
+            skillGapService.markDirty();
+            evictAfterCommit("collaboratorStats", "dashboardStats");
+        }
+        return report;
     }
 
-    // Réactiver plusieurs collaborateurs en masse
-    public void reactivateCollaborators(List<Long> collaboratorIds) {
-        for (Long id : collaboratorIds) {
-            Collaborator collaborator = collaboratorRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Collaborator not found with id: " + id));
-            
-            collaborator.setActive(true);
-            collaboratorRepository.save(collaborator);
+    // Complète les projections de liste avec les compétences et leurs statistiques, une requête par lot d'identifiants
+    private List<CollaboratorDTO> withSkills(List<CollaboratorDTO> collaborators) {
+        List<Long> ids = collaborators.stream().map(CollaboratorDTO::getId).collect(Collectors.toList());
+        Map<Long, List<Object[]>> skillRows = ProjectionUtil.groupById(ids, collaboratorRepository::findSkillRowsByCollaboratorIds);
+        List<Long> skillIds = skillRows.values().stream()
+                .flatMap(List::stream)
+                .map(row -> (Long) row[1])
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, List<Object[]>> usageRows = ProjectionUtil.groupById(skillIds, skillRepository::findUsageCountsByIds);
+
+        for (CollaboratorDTO collaborator : collaborators) {
+            Set<SkillDTO> skills = new HashSet<>();
+            for (Object[] row : skillRows.getOrDefault(collaborator.getId(), List.of())) {
+                SkillDTO skill = new SkillDTO();
+                skill.setId((Long) row[1]);
+                skill.setName((String) row[2]);
+                skill.setCategory((String) row[3]);
+                List<Object[]> usage = usageRows.get(skill.getId());
+                if (usage != null) {
+                    skill.setCollaboratorCount(((Number) usage.get(0)[1]).intValue());
+                    skill.setProjectCount(((Number) usage.get(0)[2]).intValue());
+                }
+                skills.add(skill);
+            }
+            collaborator.setSkills(skills);
+            collaborator.setSkillNames(skills.stream().map(SkillDTO::getName).collect(Collectors.toSet()));
         }
+        return collaborators;
+    }
+
+    private void evictAfterCommit(String... cacheNames) {
+        Runnable evict = () -> {
+            for (String cacheName : cacheNames) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        };
+        TransactionCallbacks.afterCommit(evict);
     }
 
     // Obtenir les statistiques des collaborateurs actifs/inactifs
@@ -284,14 +353,20 @@ public class CollaboratorService {
     }
 
     // Obtenir les statistiques des collaborateurs par compétences
+    @Cacheable(value = "collaboratorStats")
     public Map<String, Object> getCollaboratorStatistics() {
+        return loadCollaboratorStatistics();
+    }
+
+    // Calcul non mis en cache, utilisé par le rafraîchissement asynchrone du cache
+    public Map<String, Object> loadCollaboratorStatistics() {
         Map<String, Object> statistics = new HashMap<>();
         
         // Statistiques de base - ne compter que les collaborateurs actifs
-        long totalActive = collaboratorRepository.countByActive(true);
-        long onMission = collaboratorRepository.countByStatusAndActive(CollaboratorStatus.EN_MISSION, true);
-        long free = collaboratorRepository.countByStatusAndActive(CollaboratorStatus.DISPONIBLE, true);
-        long onLeave = collaboratorRepository.countByStatusAndActive(CollaboratorStatus.EN_CONGE, true);
+        long totalActive = statisticsStore.getActiveCollaborators();
+        long onMission = statisticsStore.getActiveCollaboratorsByStatus(CollaboratorStatus.EN_MISSION);
+        long free = statisticsStore.getActiveCollaboratorsByStatus(CollaboratorStatus.DISPONIBLE);
+        long onLeave = statisticsStore.getActiveCollaboratorsByStatus(CollaboratorStatus.EN_CONGE);
         
         // Vérification de la cohérence des données
         long sumStatus = onMission + free + onLeave;
@@ -345,30 +420,8 @@ public class CollaboratorService {
     }
 
     private Map<String, Long> calculateSkillStatistics() {
-        Map<String, Long> skillStats = new HashMap<>();
-        List<Collaborator> collaborators = collaboratorRepository.findByActive(true);
-        
-        System.out.println("Calcul des statistiques des compétences pour " + collaborators.size() + " collaborateurs actifs");
-        
-        for (Collaborator collaborator : collaborators) {
-            Set<Skill> skills = collaborator.getSkills();
-            if (skills == null || skills.isEmpty()) {
-                System.out.println("ATTENTION: Le collaborateur " + collaborator.getName() + " n'a pas de compétences");
-                continue;
-            }
-            
-            for (Skill skill : skills) {
-                String skillName = skill.getName();
-                if (skillName == null || skillName.trim().isEmpty()) {
-                    System.out.println("ATTENTION: Compétence sans nom trouvée pour le collaborateur " + collaborator.getName());
-                    continue;
-                }
-                
-                skillStats.put(skillName, skillStats.getOrDefault(skillName, 0L) + 1);
-            }
-        }
-        
-        return skillStats;
+        // Compteurs par compétence des collaborateurs actifs, tenus à jour en mémoire
+        return statisticsStore.getActiveCollaboratorSkillUsage();
     }
 
     public List<Map<String, Object>> getTopSkills() {
@@ -384,15 +437,7 @@ public class CollaboratorService {
     }
 
     public List<Map<String, Object>> getLeastUsedSkills() {
-        Map<String, Long> skillStats = new HashMap<>();
-        List<Collaborator> collaborators = collaboratorRepository.findByActive(true);
-        
-        // Compter l'utilisation de chaque compétence
-        for (Collaborator collaborator : collaborators) {
-            for (Skill skill : collaborator.getSkills()) {
-                skillStats.put(skill.getName(), skillStats.getOrDefault(skill.getName(), 0L) + 1);
-            }
-        }
+        Map<String, Long> skillStats = calculateSkillStatistics();
         
         // Trier par utilisation croissante et prendre les 5 premières
         return skillStats.entrySet().stream()
@@ -406,4 +451,4 @@ public class CollaboratorService {
             })
             .collect(Collectors.toList());
     }
-} 
\ No newline at end of file
+}
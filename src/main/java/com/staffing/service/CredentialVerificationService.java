@@ -0,0 +1,112 @@
+package com.staffing.service;
+
+import com.staffing.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Exécute les vérifications d'identifiants (lecture de l'utilisateur et hachage
+ * BCrypt) sur un pool dédié de taille fixe, derrière une file bornée.
+ * <p>
+ * Un pic de connexions occupe ainsi au plus ce pool au lieu des threads Tomcat ;
+ * lorsque la file est pleine la demande est refusée immédiatement (503) plutôt
+ * que d'attendre indéfiniment.
+ */
+@Service
+public class CredentialVerificationService {
+    private static final Logger logger = LoggerFactory.getLogger(CredentialVerificationService.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+    private final LongAccumulator maxVerificationNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+
+    public CredentialVerificationService(@Value("${app.auth.verification-threads:4}") int threads,
+                                         @Value("${app.auth.verification-queue-capacity:200}") int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "credential-verifier-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Soumet une vérification au pool. Le résultat est rendu de façon asynchrone
+     * afin que le thread de requête soit libéré pendant le hachage.
+     *
+     * @throws ServiceUnavailableException si la file d'attente est pleine
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> verification) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - queuedAt);
+                try {
+                    return verification.get();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    verifications.increment();
+                    verificationNanos.add(elapsed);
+                    maxVerificationNanos.accumulate(elapsed);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warn("File de vérification des identifiants pleine ({} en attente), connexion refusée",
+                    executor.getQueue().size());
+            throw new ServiceUnavailableException("Trop de connexions simultanées. Veuillez réessayer dans quelques instants.");
+        }
+    }
+
+    // Appelé lorsqu'un mot de passe est re-haché au coût configuré lors de la connexion
+    public void recordRehash() {
+        rehashed.increment();
+    }
+
+    public Map<String, Object> getMetrics() {
+        long count = verifications.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("poolSize", executor.getPoolSize());
+        metrics.put("activeThreads", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("verificationCount", count);
+        metrics.put("rejectedCount", rejected.sum());
+        metrics.put("rehashCount", rehashed.sum());
+        metrics.put("averageVerificationMs", count > 0 ? verificationNanos.sum() / count / 1_000_000.0 : 0.0);
+        metrics.put("maxVerificationMs", maxVerificationNanos.get() / 1_000_000.0);
+        metrics.put("averageQueueWaitMs", count > 0 ? queueWaitNanos.sum() / count / 1_000_000.0 : 0.0);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
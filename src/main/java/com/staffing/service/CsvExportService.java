@@ -0,0 +1,248 @@
+package com.staffing.service;
+
+import com.opencsv.CSVWriter;
+import com.staffing.dto.ProjectFilterDTO;
+import com.staffing.model.Assignment;
+import com.staffing.model.Collaborator;
+import com.staffing.model.Project;
+import com.staffing.repository.CollaboratorRepository;
+import com.staffing.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Export CSV des projets, collaborateurs et affectations.
+ * <p>
+ * Les lignes sont lues en colonnes scalaires (aucune entité chargée dans le
+ * contexte de persistance) par curseur serveur, et écrites directement sur le
+ * flux de sortie. Les compétences sont récupérées par lots de
+ * app.streaming.chunk-size lignes : la mémoire consommée ne dépend pas du
+ * nombre de lignes exportées.
+ */
+@Service
+public class CsvExportService {
+    private static final String SKILL_SEPARATOR = ";";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    // Chiffres et séparateurs seulement : aucune fonction possible, « +33 6 ... » est laissé intact
+    private static final Pattern PHONE = Pattern.compile(Collaborator.PHONE_REGEXP);
+
+    private record Column(String header, String path) {
+    }
+
+    private static final List<Column> PROJECT_COLUMNS = List.of(
+            new Column("id", "id"),
+            new Column("name", "name"),
+            new Column("client", "client"),
+            new Column("projectManager", "projectManager"),
+            new Column("startDate", "startDate"),
+            new Column("endDate", "endDate"),
+            new Column("teamSize", "teamSize"),
+            new Column("status", "status"),
+            new Column("active", "active"),
+            new Column("progress", "progress"));
+
+    private static final List<Column> COLLABORATOR_COLUMNS = List.of(
+            new Column("id", "id"),
+            new Column("name", "name"),
+            new Column("email", "email"),
+            new Column("role", "role"),
+            new Column("grade", "grade"),
+            new Column("phone", "phone"),
+            new Column("status", "status"),
+            new Column("experienceYears", "experienceYears"),
+            new Column("active", "active"));
+
+    private static final List<Column> ASSIGNMENT_COLUMNS = List.of(
+            new Column("id", "id"),
+            new Column("collaboratorId", "collaborator.id"),
+            new Column("collaboratorName", "collaborator.name"),
+            new Column("projectId", "project.id"),
+            new Column("projectName", "project.name"),
+            new Column("role", "role"),
+            new Column("projectStartDate", "project.startDate"),
+            new Column("projectEndDate", "project.endDate"),
+            new Column("projectStatus", "project.status"),
+            new Column("createdAt", "createdAt"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ProjectSearchService projectSearchService;
+    private final ProjectRepository projectRepository;
+    private final CollaboratorRepository collaboratorRepository;
+    private final int chunkSize;
+
+    public CsvExportService(ProjectSearchService projectSearchService,
+                            ProjectRepository projectRepository,
+                            CollaboratorRepository collaboratorRepository,
+                            @Value("${app.streaming.chunk-size:500}") int chunkSize) {
+        this.projectSearchService = projectSearchService;
+        this.projectRepository = projectRepository;
+        this.collaboratorRepository = collaboratorRepository;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Mêmes filtres que /api/projects/filter
+    @Transactional(readOnly = true)
+    public long exportProjects(ProjectFilterDTO filter, OutputStream out) throws IOException {
+        return export(Project.class, projectSearchService.buildSpecification(filter), PROJECT_COLUMNS,
+                projectRepository::findSkillNamesByProjectIds, out);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCollaborators(Specification<Collaborator> spec, OutputStream out) throws IOException {
+        return export(Collaborator.class, spec, COLLABORATOR_COLUMNS,
+                collaboratorRepository::findSkillNamesByCollaboratorIds, out);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAssignments(Specification<Assignment> spec, OutputStream out) throws IOException {
+        return export(Assignment.class, spec, ASSIGNMENT_COLUMNS, null, out);
+    }
+
+    /**
+     * Écrit l'en-tête puis une ligne par résultat, triés par id. {@code skillLookup}
+     * renvoie les paires (id, nom de compétence) d'un lot d'ids ; null si l'export
+     * n'a pas de colonne skills.
+     */
+    private <E> long export(Class<E> type, Specification<E> spec, List<Column> columns,
+                            Function<Collection<Long>, List<Object[]>> skillLookup,
+                            OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM : Excel reconnaît alors l'UTF-8 (accents)
+        writer.write('\uFEFF');
+        CSVWriter csv = new CSVWriter(writer);
+
+        List<String> headers = columns.stream().map(Column::header).collect(Collectors.toCollection(ArrayList::new));
+        if (skillLookup != null) {
+            headers.add("skills");
+        }
+        csv.writeNext(headers.toArray(String[]::new), false);
+
+        long count = 0;
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        try (Stream<Tuple> rows = query(type, spec, columns)) {
+            Iterator<Tuple> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next().toArray());
+                if (chunk.size() >= chunkSize) {
+                    count += writeChunk(csv, chunk, skillLookup);
+                    chunk.clear();
+                }
+            }
+        }
+        count += writeChunk(csv, chunk, skillLookup);
+        // Pas de close() : le flux de réponse appartient au conteneur
+        csv.flush();
+        return count;
+    }
+
+    private <E> Stream<Tuple> query(Class<E> type, Specification<E> spec, List<Column> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(type);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Selection<?>> selections = new ArrayList<>();
+        for (Column column : columns) {
+            selections.add(path(root, column.path()));
+        }
+        query.multiselect(selections);
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, chunkSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static Path<?> path(Root<?> root, String dottedPath) {
+        Path<?> path = root;
+        for (String attribute : dottedPath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    private int writeChunk(CSVWriter csv, List<Object[]> chunk,
+                           Function<Collection<Long>, List<Object[]>> skillLookup) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Map<Long, TreeSet<String>> skills = new HashMap<>();
+        if (skillLookup != null) {
+            List<Long> ids = chunk.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+            for (Object[] pair : skillLookup.apply(ids)) {
+                skills.computeIfAbsent((Long) pair[0], id -> new TreeSet<>()).add((String) pair[1]);
+            }
+        }
+        for (Object[] row : chunk) {
+            int width = row.length + (skillLookup != null ? 1 : 0);
+            String[] line = new String[width];
+            for (int i = 0; i < row.length; i++) {
+                line[i] = format(row[i]);
+            }
+            if (skillLookup != null) {
+                TreeSet<String> names = skills.get((Long) row[0]);
+                line[row.length] = names == null ? "" : neutralize(String.join(SKILL_SEPARATOR, names));
+            }
+            csv.writeNext(line, false);
+        }
+        csv.flush();
+        return chunk.size();
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof String text) {
+            return neutralize(text);
+        }
+        return value.toString();
+    }
+
+    // Saisie utilisateur interprétée comme formule par un tableur : préfixée par une apostrophe
+    static String neutralize(String text) {
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0 && !PHONE.matcher(text).matches()) {
+            return "'" + text;
+        }
+        return text;
+    }
+}
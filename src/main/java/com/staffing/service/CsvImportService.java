@@ -0,0 +1,452 @@
+package com.staffing.service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import com.staffing.dto.CollaboratorDTO;
+import com.staffing.dto.CsvImportReportDTO;
+import com.staffing.dto.ProjectDTO;
+import com.staffing.exception.CsvImportException;
+import com.staffing.model.enums.CollaboratorStatus;
+import com.staffing.model.enums.ProjectStatus;
+import com.staffing.repository.CollaboratorRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de collaborateurs et de projets depuis un fichier CSV.
+ * <p>
+ * Le fichier est lu ligne à ligne et traité par lots de app.import.batch-size
+ * lignes, chacun dans sa propre transaction. Les compétences d'un lot sont
+ * résolues en une seule requête et les manquantes créées en un seul INSERT
+ * batché ; les lignes sont ensuite insérées par JDBC batch, les identifiants
+ * IDENTITY empêchant Hibernate de regrouper les INSERT. Les lignes invalides
+ * sont écartées et reportées dans le bilan sans interrompre l'import.
+ */
+@Service
+public class CsvImportService {
+    private static final Logger logger = LoggerFactory.getLogger(CsvImportService.class);
+
+    // Séparateurs acceptés entre les compétences d'une même cellule
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("[;|]");
+
+    private static final String INSERT_COLLABORATOR =
+            "INSERT INTO collaborators (name, email, role, grade, phone, status, experience_years, active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, true)";
+    private static final String INSERT_COLLABORATOR_SKILL =
+            "INSERT INTO collaborator_skills (collaborator_id, skill_id) VALUES (?, ?)";
+    private static final String INSERT_PROJECT =
+            "INSERT INTO projects (name, description, client, project_manager, start_date, end_date, " +
+            "team_size, status, active, progress, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, true, ?, ?, ?)";
+    private static final String INSERT_PROJECT_SKILL =
+            "INSERT INTO project_skills (project_id, skill_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SkillResolver skillResolver;
+    private final CollaboratorRepository collaboratorRepository;
+    private final Validator validator;
+    private final StatisticsStore statisticsStore;
+    private final SkillGapService skillGapService;
+    private final int batchSize;
+
+    public CsvImportService(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            SkillResolver skillResolver,
+                            CollaboratorRepository collaboratorRepository,
+                            Validator validator,
+                            StatisticsStore statisticsStore,
+                            SkillGapService skillGapService,
+                            @Value("${app.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.skillResolver = skillResolver;
+        this.collaboratorRepository = collaboratorRepository;
+        this.validator = validator;
+        this.statisticsStore = statisticsStore;
+        this.skillGapService = skillGapService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Colonnes : name, email, role, grade, phone, status, experienceYears, skills.
+     * Les emails déjà connus ou répétés dans le fichier sont rejetés.
+     */
+    public CsvImportReportDTO importCollaborators(InputStream input) {
+        Set<String> importedEmails = new HashSet<>();
+        return importRows(input, this::parseCollaborator, CollaboratorDTO::getSkillNames,
+                (rows, report) -> rejectDuplicateEmails(rows, importedEmails, report),
+                this::insertCollaborators,
+                rows -> rows.forEach(row -> importedEmails.add(row.value().getEmail().toLowerCase(Locale.ROOT))));
+    }
+
+    /**
+     * Colonnes : name, description, client, projectManager, startDate, endDate,
+     * teamSize, status, progress, skills. Les dates sont au format ISO (yyyy-MM-dd).
+     */
+    public CsvImportReportDTO importProjects(InputStream input) {
+        return importRows(input, this::parseProject, ProjectDTO::getSkillNames,
+                (rows, report) -> rows, this::insertProjects, rows -> { });
+    }
+
+    // ----- Lecture et découpage en lots -----
+
+    private record CsvRow<T>(long line, T value, Set<String> skillNames) {
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter<T> {
+        void write(List<CsvRow<T>> rows, Function<String, Long> skillIds);
+    }
+
+    private <T> CsvImportReportDTO importRows(InputStream input,
+                                              Function<Map<String, String>, T> parser,
+                                              Function<T, Set<String>> skillNames,
+                                              BiFunction<List<CsvRow<T>>, CsvImportReportDTO, List<CsvRow<T>>> filter,
+                                              BatchWriter<T> writer,
+                                              Consumer<List<CsvRow<T>>> onCommitted) {
+        long start = System.currentTimeMillis();
+        CsvImportReportDTO report = new CsvImportReportDTO();
+        List<CsvRow<T>> batch = new ArrayList<>(batchSize);
+
+        try (CSVReader reader = new CSVReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String[] headers = reader.readNext();
+            if (headers == null) {
+                throw new CsvImportException("Le fichier CSV est vide");
+            }
+            headers = normalizeHeaders(headers);
+            String[] cells;
+            while ((cells = reader.readNext()) != null) {
+                long line = reader.getLinesRead();
+                if (Arrays.stream(cells).allMatch(String::isBlank)) {
+                    continue;
+                }
+                report.setTotalRows(report.getTotalRows() + 1);
+                if (cells.length != headers.length) {
+                    report.addError(line, "Nombre de colonnes incorrect : " + cells.length + " au lieu de " + headers.length);
+                    continue;
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < headers.length; i++) {
+                    values.put(headers[i], cells[i]);
+                }
+                try {
+                    T value = parser.apply(values);
+                    batch.add(new CsvRow<>(line, value, normalizeSkills(skillNames.apply(value))));
+                } catch (IllegalArgumentException e) {
+                    report.addError(line, e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(batch, filter, writer, onCommitted, report);
+                    batch.clear();
+                }
+            }
+            flush(batch, filter, writer, onCommitted, report);
+        } catch (IOException | CsvValidationException e) {
+            throw new CsvImportException("Impossible de lire le fichier CSV : " + e.getMessage());
+        }
+
+        report.getErrors().sort(Comparator.comparingLong(CsvImportReportDTO.RowError::getLine));
+        if (report.getImportedRows() > 0) {
+            // Les INSERT JDBC ne passent pas par les listeners JPA
+            statisticsStore.rebuild();
+            skillGapService.markDirty();
+        }
+        logger.info("Import CSV terminé en {} ms : {}/{} lignes importées, {} compétences créées, {} erreurs",
+                System.currentTimeMillis() - start, report.getImportedRows(), report.getTotalRows(),
+                report.getSkillsCreated(), report.getErrors().size());
+        return report;
+    }
+
+    private <T> void flush(List<CsvRow<T>> batch,
+                           BiFunction<List<CsvRow<T>>, CsvImportReportDTO, List<CsvRow<T>>> filter,
+                           BatchWriter<T> writer,
+                           Consumer<List<CsvRow<T>>> onCommitted,
+                           CsvImportReportDTO report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CsvRow<T>> rows = filter.apply(batch, report);
+        if (rows.isEmpty()) {
+            return;
+        }
+        SkillResolver.SkillIds skills;
+        try {
+            // Compétences du lot : une requête, un INSERT pour les manquantes (annulé avec le lot)
+            skills = transactionTemplate.execute(status -> {
+                Set<String> names = new HashSet<>();
+                rows.forEach(row -> names.addAll(row.skillNames()));
+                SkillResolver.SkillIds resolved = skillResolver.resolveIds(names);
+                writer.write(rows, resolved.ids()::get);
+                return resolved;
+            });
+        } catch (DataAccessException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            logger.warn("Lot CSV rejeté (lignes {} à {}) : {}", rows.get(0).line(), rows.get(rows.size() - 1).line(), cause);
+            rows.forEach(row -> report.addError(row.line(), "Lot rejeté par la base : " + cause));
+            return;
+        }
+        onCommitted.accept(rows);
+        report.setImportedRows(report.getImportedRows() + rows.size());
+        report.setSkillsCreated(report.getSkillsCreated() + skills.created());
+    }
+
+    // ----- Collaborateurs -----
+
+    private CollaboratorDTO parseCollaborator(Map<String, String> values) {
+        CollaboratorDTO dto = new CollaboratorDTO();
+        dto.setName(text(values, "name"));
+        dto.setEmail(text(values, "email"));
+        dto.setRole(text(values, "role"));
+        dto.setGrade(text(values, "grade"));
+        dto.setPhone(text(values, "phone"));
+        String status = text(values, "status");
+        dto.setStatus(status == null ? CollaboratorStatus.DISPONIBLE : parseEnum(CollaboratorStatus.class, status));
+        dto.setExperienceYears(parseInteger(values, "experienceyears"));
+        dto.setSkillNames(splitSkills(text(values, "skills")));
+        dto.setActive(true);
+
+        Set<ConstraintViolation<CollaboratorDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return dto;
+    }
+
+    private List<CsvRow<CollaboratorDTO>> rejectDuplicateEmails(List<CsvRow<CollaboratorDTO>> rows,
+                                                                Set<String> importedEmails,
+                                                                CsvImportReportDTO report) {
+        Set<String> emails = rows.stream()
+                .map(row -> row.value().getEmail().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>(collaboratorRepository.findExistingEmails(emails));
+
+        Set<String> batchEmails = new HashSet<>();
+        List<CsvRow<CollaboratorDTO>> accepted = new ArrayList<>(rows.size());
+        for (CsvRow<CollaboratorDTO> row : rows) {
+            String email = row.value().getEmail().toLowerCase(Locale.ROOT);
+            if (existing.contains(email)) {
+                report.addError(row.line(), "Un collaborateur existe déjà avec l'email " + row.value().getEmail());
+            } else if (importedEmails.contains(email) || !batchEmails.add(email)) {
+                report.addError(row.line(), "Email en double dans le fichier : " + row.value().getEmail());
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private void insertCollaborators(List<CsvRow<CollaboratorDTO>> rows, Function<String, Long> skillIds) {
+        List<Long> ids = insertReturningIds(INSERT_COLLABORATOR, rows, (ps, row) -> {
+            CollaboratorDTO dto = row.value();
+            ps.setString(1, dto.getName());
+            ps.setString(2, dto.getEmail());
+            ps.setString(3, dto.getRole());
+            ps.setString(4, dto.getGrade());
+            ps.setString(5, dto.getPhone());
+            ps.setString(6, dto.getStatus().name());
+            ps.setInt(7, dto.getExperienceYears());
+        });
+        insertLinks(INSERT_COLLABORATOR_SKILL, rows, ids, skillIds);
+    }
+
+    // ----- Projets -----
+
+    private ProjectDTO parseProject(Map<String, String> values) {
+        ProjectDTO dto = new ProjectDTO();
+        dto.setName(required(values, "name", "Le nom est requis"));
+        dto.setDescription(text(values, "description"));
+        dto.setClient(required(values, "client", "Le client est requis"));
+        dto.setProjectManager(required(values, "projectmanager", "Le chef de projet est requis"));
+        dto.setStartDate(parseDate(required(values, "startdate", "La date de début est requise")));
+        dto.setEndDate(parseDate(required(values, "enddate", "La date de fin est requise")));
+        if (dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw new IllegalArgumentException("La date de fin précède la date de début");
+        }
+        Integer teamSize = parseInteger(values, "teamsize");
+        if (teamSize == null || teamSize < 1) {
+            throw new IllegalArgumentException("La taille d'équipe doit être un entier positif");
+        }
+        dto.setTeamSize(teamSize);
+        String status = text(values, "status");
+        dto.setStatus(status == null ? ProjectStatus.EN_DEMARRAGE : parseEnum(ProjectStatus.class, status));
+        String progress = text(values, "progress");
+        try {
+            dto.setProgress(progress == null ? 0.0 : Double.parseDouble(progress.replace(',', '.')));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Avancement invalide : " + progress);
+        }
+        dto.setSkillNames(splitSkills(text(values, "skills")));
+        dto.setActive(true);
+        return dto;
+    }
+
+    private void insertProjects(List<CsvRow<ProjectDTO>> rows, Function<String, Long> skillIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = insertReturningIds(INSERT_PROJECT, rows, (ps, row) -> {
+            ProjectDTO dto = row.value();
+            ps.setString(1, dto.getName());
+            ps.setString(2, dto.getDescription());
+            ps.setString(3, dto.getClient());
+            ps.setString(4, dto.getProjectManager());
+            ps.setDate(5, Date.valueOf(dto.getStartDate()));
+            ps.setDate(6, Date.valueOf(dto.getEndDate()));
+            ps.setInt(7, dto.getTeamSize());
+            ps.setString(8, dto.getStatus().name());
+            ps.setDouble(9, dto.getProgress());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+        insertLinks(INSERT_PROJECT_SKILL, rows, ids, skillIds);
+    }
+
+    // ----- JDBC -----
+
+    // INSERT batché renvoyant les identifiants générés, dans l'ordre des valeurs
+    private <V> List<Long> insertReturningIds(String sql, List<V> values, ParameterizedPreparedStatementSetter<V> setter) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.setValues(ps, values.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return values.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .collect(Collectors.toList());
+    }
+
+    // Table de liaison entité/compétence, en un seul batch pour tout le lot
+    private <T> void insertLinks(String sql, List<CsvRow<T>> rows, List<Long> ids, Function<String, Long> skillIds) {
+        List<long[]> links = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            for (String name : rows.get(i).skillNames()) {
+                links.add(new long[]{ids.get(i), skillIds.apply(SkillResolver.key(name))});
+            }
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, links, links.size(), (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+    }
+
+    // ----- Lecture des cellules -----
+
+    // En-têtes comparés sans casse ni ponctuation : "experience_years" = "experienceYears"
+    private static String[] normalizeHeaders(String[] headers) {
+        return Arrays.stream(headers)
+                .map(header -> header.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+    }
+
+    private static String text(Map<String, String> values, String column) {
+        String value = values.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String required(Map<String, String> values, String column, String message) {
+        String value = text(values, column);
+        if (value == null) {
+            throw new IllegalArgumentException(message);
+        }
+        return value;
+    }
+
+    private static Integer parseInteger(Map<String, String> values, String column) {
+        String value = text(values, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valeur entière invalide pour " + column + " : " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date invalide (format attendu yyyy-MM-dd) : " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Statut inconnu : " + value);
+        }
+    }
+
+    private static Set<String> splitSkills(String value) {
+        if (value == null) {
+            return new LinkedHashSet<>();
+        }
+        return Arrays.stream(SKILL_SEPARATOR.split(value))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Une compétence citée deux fois avec des casses différentes n'est liée qu'une fois
+    private static Set<String> normalizeSkills(Set<String> names) {
+        if (names == null || names.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Map<String, String> unique = new LinkedHashMap<>();
+        names.forEach(name -> unique.putIfAbsent(SkillResolver.key(name), name));
+        return new LinkedHashSet<>(unique.values());
+    }
+}
@@ -2,9 +2,12 @@ package com.staffing.service;
 
 import com.staffing.model.User;
 import com.staffing.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,11 +17,15 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CredentialVerificationService credentialVerificationService;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
@@ -27,6 +34,21 @@ public class CustomUserDetailsService implements UserDetailsService {
         return new CustomUserDetails(user);
     }
 
+    /**
+     * Appelé par Spring Security après une connexion réussie lorsque le hachage
+     * stocké n'utilise pas l'encodeur ou le coût courant.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        credentialVerificationService.recordRehash();
+        logger.info("Mot de passe re-haché au coût courant pour l'utilisateur: {}", user.getUsername());
+        if (user instanceof CustomUserDetails details) {
+            details.getUser().setPassword(newPassword);
+        }
+        return user;
+    }
+
     public static class CustomUserDetails implements UserDetails {
         private final User user;
 
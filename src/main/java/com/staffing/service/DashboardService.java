@@ -1,65 +1,51 @@
 package com.staffing.service;
 
+import com.staffing.dto.DashboardAggregate;
 import com.staffing.dto.DashboardDTO;
-import com.staffing.model.*;
 import com.staffing.model.enums.ProjectStatus;
 import com.staffing.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Service
 public class DashboardService {
     @Autowired
     private ProjectRepository projectRepository;
-    
-    @Autowired
-    private CollaboratorRepository collaboratorRepository;
-    
-    @Autowired
-    private AssignmentRepository assignmentRepository;
 
+    @Cacheable(value = "dashboardStats")
+    @Transactional(readOnly = true)
     public DashboardDTO getDashboardData() {
+        return loadDashboardData();
+    }
+
+    // Calcul non mis en cache, utilisé par le rafraîchissement asynchrone du cache
+    @Transactional(readOnly = true)
+    public DashboardDTO loadDashboardData() {
+        LocalDateTime since = LocalDateTime.now().minusDays(7);
+
+        // Tous les indicateurs sont calculés en une seule requête d'agrégation
+        DashboardAggregate aggregate = projectRepository.getDashboardAggregate(
+            since, LocalDate.now(), ProjectStatus.ANNULE);
+
         DashboardDTO dashboard = new DashboardDTO();
-        
+
         // Tableau de bord rapide
-        List<Project> allProjects = projectRepository.findAll();
-        dashboard.setTotalActiveProjects((int) allProjects.stream()
-            .filter(Project::isActive)
-            .count());
-        dashboard.setTotalCollaborators((int) collaboratorRepository.countByActive(true));
-        dashboard.setRecentProjectUpdates((int) projectRepository.countRecentUpdates(LocalDateTime.now().minusDays(7)));
-        
+        dashboard.setTotalActiveProjects((int) aggregate.totalActiveProjects());
+        dashboard.setTotalCollaborators((int) aggregate.totalCollaborators());
+        dashboard.setRecentProjectUpdates((int) aggregate.recentProjectUpdates());
+
         // Notifications
-        dashboard.setOverdueProjects((int) allProjects.stream()
-            .filter(p -> p.isActive() && 
-                        p.getEndDate() != null && 
-                        p.getEndDate().isBefore(LocalDate.now()))
-            .count());
-        dashboard.setNewAssignments((int) assignmentRepository.countRecentAssignments(LocalDateTime.now().minusDays(7)));
-        
+        dashboard.setOverdueProjects((int) aggregate.overdueProjects());
+        dashboard.setNewAssignments((int) aggregate.newAssignments());
+
         // Statistiques rapides
-        dashboard.setOverallProjectProgress(calculateOverallProgress());
-        
+        dashboard.setOverallProjectProgress(aggregate.overallProjectProgress());
+
         return dashboard;
     }
-    
-    private double calculateOverallProgress() {
-        List<Project> projects = projectRepository.findAll();
-        if (projects.isEmpty()) return 0.0;
-        
-        double totalProgress = projects.stream()
-            .filter(p -> p.getStatus() != ProjectStatus.ANNULE)
-            .mapToDouble(Project::getProgress)
-            .sum();
-        
-        long activeProjects = projects.stream()
-            .filter(p -> p.getStatus() != ProjectStatus.ANNULE)
-            .count();
-        
-        return activeProjects > 0 ? totalProgress / activeProjects : 0.0;
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.staffing.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Parcourt un résultat de requête ligne par ligne (curseur serveur, fetch size
+ * fixé sur la requête) et vide le contexte de persistance tous les
+ * {@code chunkSize} éléments : la mémoire consommée ne dépend pas de la taille
+ * de la table.
+ */
+@Component
+public class EntityStreamer {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.streaming.chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional(readOnly = true)
+    public <E, D> long stream(Supplier<Stream<E>> source, Function<? super E, ? extends D> mapper,
+                              Consumer<? super D> sink) {
+        long count = 0;
+        try (Stream<E> entities = source.get()) {
+            var iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(mapper.apply(iterator.next()));
+                if (++count % chunkSize == 0) {
+                    // Les entités déjà converties ne sont plus utiles : les détacher
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
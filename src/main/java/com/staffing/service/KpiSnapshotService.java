@@ -0,0 +1,106 @@
+package com.staffing.service;
+
+import com.staffing.dto.DashboardDTO;
+import com.staffing.dto.KpiSnapshotDTO;
+import com.staffing.dto.ProjectStatisticsDTO;
+import com.staffing.model.KpiSnapshot;
+import com.staffing.repository.KpiSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Historique des indicateurs du tableau de bord.
+ * <p>
+ * Un instantané horaire est enregistré dans kpi_snapshots ; le job de rétention
+ * remplace ensuite les instantanés horaires de plus de 7 jours par une moyenne
+ * journalière, puis les journaliers de plus d'un an par une moyenne hebdomadaire.
+ * Les courbes de tendance sont ainsi lues sans jamais toucher aux tables vivantes.
+ */
+@Service
+public class KpiSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(KpiSnapshotService.class);
+
+    private final KpiSnapshotRepository kpiSnapshotRepository;
+    private final DashboardService dashboardService;
+    private final ProjectService projectService;
+    private final int hourlyRetentionDays;
+    private final int dailyRetentionDays;
+
+    public KpiSnapshotService(KpiSnapshotRepository kpiSnapshotRepository,
+                              DashboardService dashboardService,
+                              ProjectService projectService,
+                              @Value("${app.kpi.hourly-retention-days:7}") int hourlyRetentionDays,
+                              @Value("${app.kpi.daily-retention-days:365}") int dailyRetentionDays) {
+        this.kpiSnapshotRepository = kpiSnapshotRepository;
+        this.dashboardService = dashboardService;
+        this.projectService = projectService;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+        this.dailyRetentionDays = dailyRetentionDays;
+    }
+
+    @Transactional(readOnly = true)
+    public List<KpiSnapshotDTO> getTrends(LocalDateTime from, LocalDateTime to) {
+        return kpiSnapshotRepository.findByCapturedAtBetweenOrderByCapturedAtAsc(from, to).stream()
+                .map(KpiSnapshotDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(cron = "${app.kpi.snapshot-cron:0 0 * * * *}")
+    @Transactional
+    public void captureSnapshot() {
+        LocalDateTime capturedAt = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        // Plusieurs instances peuvent exécuter le job : une seule ligne par heure
+        if (kpiSnapshotRepository.existsByResolutionAndCapturedAt(KpiSnapshot.Resolution.HOURLY, capturedAt)) {
+            return;
+        }
+
+        DashboardDTO dashboard = dashboardService.loadDashboardData();
+        ProjectStatisticsDTO projectStatistics = projectService.getProjectStatistics();
+
+        KpiSnapshot snapshot = new KpiSnapshot();
+        snapshot.setCapturedAt(capturedAt);
+        snapshot.setResolution(KpiSnapshot.Resolution.HOURLY);
+        snapshot.setTotalProjects(projectStatistics.getTotalProjects());
+        snapshot.setTotalActiveProjects(dashboard.getTotalActiveProjects());
+        snapshot.setCompletedProjects(projectStatistics.getCompletedProjects());
+        snapshot.setCriticalProjects(projectStatistics.getCriticalProjects());
+        snapshot.setOverdueProjects(dashboard.getOverdueProjects());
+        snapshot.setRecentProjectUpdates(dashboard.getRecentProjectUpdates());
+        snapshot.setTotalCollaborators(dashboard.getTotalCollaborators());
+        snapshot.setNewAssignments(dashboard.getNewAssignments());
+        snapshot.setOverallProjectProgress(dashboard.getOverallProjectProgress());
+        kpiSnapshotRepository.save(snapshot);
+    }
+
+    @Scheduled(cron = "${app.kpi.downsample-cron:0 30 3 * * *}")
+    @Transactional
+    public void downsample() {
+        LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+
+        // Les seuils sont alignés sur le début d'un jour / d'une semaine pour ne jamais agréger une période partielle
+        LocalDateTime hourlyCutoff = today.minusDays(hourlyRetentionDays);
+        int days = kpiSnapshotRepository.insertDownsampled("day",
+                KpiSnapshot.Resolution.HOURLY.name(), KpiSnapshot.Resolution.DAILY.name(), hourlyCutoff);
+        int hours = kpiSnapshotRepository.deleteByResolutionBefore(KpiSnapshot.Resolution.HOURLY, hourlyCutoff);
+
+        LocalDateTime dailyCutoff = today.minusDays(dailyRetentionDays)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int weeks = kpiSnapshotRepository.insertDownsampled("week",
+                KpiSnapshot.Resolution.DAILY.name(), KpiSnapshot.Resolution.WEEKLY.name(), dailyCutoff);
+        int dailies = kpiSnapshotRepository.deleteByResolutionBefore(KpiSnapshot.Resolution.DAILY, dailyCutoff);
+
+        logger.info("Sous-échantillonnage des KPI: {} horaires -> {} journaliers, {} journaliers -> {} hebdomadaires",
+                hours, days, dailies, weeks);
+    }
+}
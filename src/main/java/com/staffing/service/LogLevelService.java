@@ -0,0 +1,64 @@
+package com.staffing.service;
+
+import com.staffing.logging.RequestSamplingFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Modification à chaud des niveaux de log par paquet et du taux
+ * d'échantillonnage des logs DEBUG, sans redémarrage.
+ */
+@Service
+public class LogLevelService {
+    private static final Logger logger = LoggerFactory.getLogger(LogLevelService.class);
+
+    private final LoggingSystem loggingSystem;
+    private final RequestSamplingFilter requestSamplingFilter;
+
+    public LogLevelService(LoggingSystem loggingSystem, RequestSamplingFilter requestSamplingFilter) {
+        this.loggingSystem = loggingSystem;
+        this.requestSamplingFilter = requestSamplingFilter;
+    }
+
+    // Loggers dont le niveau est explicitement configuré
+    public Map<String, Object> getConfiguration() {
+        Map<String, String> levels = new TreeMap<>();
+        for (LoggerConfiguration configuration : loggingSystem.getLoggerConfigurations()) {
+            if (configuration.getConfiguredLevel() != null) {
+                levels.put(configuration.getName(), configuration.getConfiguredLevel().name());
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("levels", levels);
+        result.put("debugSampleRate", requestSamplingFilter.getSampleRate());
+        return result;
+    }
+
+    /**
+     * Fixe le niveau d'un logger ; un niveau null rétablit l'héritage du parent.
+     *
+     * @throws IllegalArgumentException si le nom ou le niveau est invalide
+     */
+    public void setLevel(String loggerName, String level) {
+        if (loggerName == null || loggerName.isBlank()) {
+            throw new IllegalArgumentException("Nom de logger requis");
+        }
+        LogLevel logLevel = level == null || level.isBlank() ? null : LogLevel.valueOf(level.toUpperCase(Locale.ROOT));
+        loggingSystem.setLogLevel(loggerName, logLevel);
+        logger.info("Niveau de log de {} fixé à {}", loggerName, logLevel != null ? logLevel : "hérité");
+    }
+
+    public void setDebugSampleRate(double rate) {
+        requestSamplingFilter.setSampleRate(rate);
+        logger.info("Taux d'échantillonnage des logs DEBUG fixé à {}", rate);
+    }
+}
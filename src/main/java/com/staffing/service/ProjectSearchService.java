@@ -1,5 +1,7 @@
 package com.staffing.service;
 
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
 import com.staffing.dto.ProjectDTO;
 import com.staffing.dto.ProjectFilterDTO;
 import com.staffing.model.Project;
@@ -27,9 +29,11 @@ import java.util.Set;
 @Transactional(readOnly = true)
 public class ProjectSearchService {
     private final ProjectRepository projectRepository;
+    private final ProjectService projectService;
 
-    public ProjectSearchService(ProjectRepository projectRepository) {
+    public ProjectSearchService(ProjectRepository projectRepository, ProjectService projectService) {
         this.projectRepository = projectRepository;
+        this.projectService = projectService;
     }
 
     public Page<Project> searchProjects(ProjectFilterDTO filter) {
@@ -38,7 +42,12 @@ public class ProjectSearchService {
         return projectRepository.findAll(spec, pageable);
     }
 
-    private Specification<Project> buildSpecification(ProjectFilterDTO filter) {
+    // Mêmes filtres, paginés par curseur
+    public KeysetPage<ProjectDTO> searchProjects(ProjectFilterDTO filter, KeysetPageRequest pageRequest) {
+        return projectService.getProjectsPage(buildSpecification(filter), pageRequest);
+    }
+
+    public Specification<Project> buildSpecification(ProjectFilterDTO filter) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
@@ -96,14 +105,15 @@ public class ProjectSearchService {
 
             // Filtre de compétences requises
             if (filter.getRequiredSkillIds() != null && !filter.getRequiredSkillIds().isEmpty()) {
-                Join<Project, Skill> skillJoin = root.join("requiredSkills");
+                query.distinct(true);
+                Join<Project, Skill> skillJoin = root.join("skills");
                 predicates.add(skillJoin.get("id").in(filter.getRequiredSkillIds()));
             }
 
             // Filtre de retard
             if (filter.getIsLate() != null && filter.getIsLate()) {
                 predicates.add(cb.lessThan(root.get("endDate"), LocalDate.now()));
-                predicates.add(cb.notEqual(root.get("status"), "COMPLETED"));
+                predicates.add(cb.notEqual(root.get("status"), ProjectStatus.TERMINE));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
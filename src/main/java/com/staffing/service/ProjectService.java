@@ -1,5 +1,8 @@
 package com.staffing.service;
 
+import com.staffing.dto.BulkActivationReportDTO;
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
 import com.staffing.dto.ProjectDTO;
 import com.staffing.dto.ProjectSearchCriteria;
 import com.staffing.dto.ProjectStatisticsDTO;
@@ -13,9 +16,14 @@ import com.staffing.repository.ProjectRepository;
 import com.staffing.repository.AssignmentRepository;
 import com.staffing.repository.SkillRepository;
 import com.staffing.repository.CollaboratorRepository;
+import com.staffing.util.KeysetPaginator;
+import com.staffing.util.ProjectionUtil;
+import com.staffing.util.TransactionCallbacks;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,55 +33,92 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ProjectService {
+    // Propriétés non nulles utilisables comme clé de pagination keyset
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("name", "client", "startDate", "endDate", "createdAt");
+
     private final ProjectRepository projectRepository;
     private final AssignmentRepository assignmentRepository;
     private final SkillRepository skillRepository;
+    private final SkillResolver skillResolver;
     private final CollaboratorRepository collaboratorRepository;
+    private final StatisticsStore statisticsStore;
+    private final EntityStreamer entityStreamer;
+    private final SkillGapService skillGapService;
+    private final CacheManager cacheManager;
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getAllProjects() {
-        return projectRepository.findByActiveTrue().stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findListRowsByActive(true));
     }
 
+    @Transactional(readOnly = true)
     public ProjectDTO getProjectById(Long id) {
-        return projectRepository.findById(id)
-                .map(ProjectDTO::fromEntity)
+        return projectRepository.findListRowById(id)
+                .map(project -> withSkillNames(List.of(project)).get(0))
                 .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getProjectsByStatus(ProjectStatus status) {
-        return projectRepository.findByStatus(status).stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findListRowsByStatus(status));
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getActiveProjects() {
-        return projectRepository.findByActiveTrue().stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findListRowsByActive(true));
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getInactiveProjects() {
-        return projectRepository.findInactiveProjects().stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findListRowsByActive(false));
     }
 
     public Page<Project> searchProjects(ProjectSearchCriteria criteria) {
-        Specification<Project> spec = (root, query, cb) -> {
+        Specification<Project> spec = buildSearchSpecification(criteria);
+
+        // Default values for pagination
+        int page = criteria.getPage() != null ? criteria.getPage() : 0;
+        int size = criteria.getSize() != null ? criteria.getSize() : 10;
+        
+        // Sorting
+        Sort sort = Sort.by(Sort.Direction.ASC, "name"); // default sort
+        if (criteria.getSortBy() != null && criteria.getSortDirection() != null) {
+            Sort.Direction direction = criteria.getSortDirection().equalsIgnoreCase("DESC") ? 
+                Sort.Direction.DESC : Sort.Direction.ASC;
+            sort = Sort.by(direction, criteria.getSortBy());
+        }
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        return projectRepository.findAll(spec, pageable);
+    }
+
+    public KeysetPage<ProjectDTO> searchProjects(ProjectSearchCriteria criteria, KeysetPageRequest pageRequest) {
+        return getProjectsPage(buildSearchSpecification(criteria), pageRequest);
+    }
+
+    // Liste paginée par curseur, sans COUNT(*) sauf si includeTotal est demandé
+    public KeysetPage<ProjectDTO> getProjectsPage(Specification<Project> spec, KeysetPageRequest pageRequest) {
+        return KeysetPaginator.scroll(projectRepository, spec, pageRequest, SORTABLE_PROPERTIES)
+                .map(ProjectDTO::fromEntity);
+    }
+
+    private Specification<Project> buildSearchSpecification(ProjectSearchCriteria criteria) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (criteria.getName() != null) {
@@ -106,31 +151,17 @@ public class ProjectService {
             }
 
             if (criteria.getRequiredSkills() != null && !criteria.getRequiredSkills().isEmpty()) {
-                predicates.add(root.join("requiredSkills").get("name").in(criteria.getRequiredSkills()));
+                query.distinct(true);
+                predicates.add(root.join("skills").get("name").in(criteria.getRequiredSkills()));
             }
 
             if (criteria.getCritical() != null && criteria.getCritical()) {
                 predicates.add(cb.lessThan(root.get("endDate"), LocalDate.now()));
-                predicates.add(cb.notEqual(root.get("status"), "COMPLETED"));
+                predicates.add(cb.notEqual(root.get("status"), ProjectStatus.TERMINE));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-
-        // Default values for pagination
-        int page = criteria.getPage() != null ? criteria.getPage() : 0;
-        int size = criteria.getSize() != null ? criteria.getSize() : 10;
-        
-        // Sorting
-        Sort sort = Sort.by(Sort.Direction.ASC, "name"); // default sort
-        if (criteria.getSortBy() != null && criteria.getSortDirection() != null) {
-            Sort.Direction direction = criteria.getSortDirection().equalsIgnoreCase("DESC") ? 
-                Sort.Direction.DESC : Sort.Direction.ASC;
-            sort = Sort.by(direction, criteria.getSortBy());
-        }
-
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return projectRepository.findAll(spec, pageable);
     }
 
     public ProjectDTO createProject(ProjectDTO projectDTO) {
@@ -145,22 +176,7 @@ public class ProjectService {
             skillsToAdd.addAll(projectDTO.getRequiredSkills());
         }
         
-        if (!skillsToAdd.isEmpty()) {
-            Set<Skill> skills = new HashSet<>();
-            for (String skillName : skillsToAdd) {
-                Skill skill = skillRepository.findByNameIgnoreCase(skillName)
-                        .orElseGet(() -> {
-                            Skill newSkill = new Skill();
-                            newSkill.setName(skillName);
-                            newSkill.setCategory("Général");
-                            return skillRepository.save(newSkill);
-                        });
-                skills.add(skill);
-            }
-            project.setSkills(skills);
-        } else {
-            project.setSkills(new HashSet<>());
-        }
+        project.setSkills(skillResolver.resolve(skillsToAdd));
 
         project = projectRepository.save(project);
         return ProjectDTO.fromEntity(project);
@@ -191,22 +207,7 @@ public class ProjectService {
             skillsToAdd.addAll(projectDTO.getRequiredSkills());
         }
         
-        if (!skillsToAdd.isEmpty()) {
-            Set<Skill> skills = new HashSet<>();
-            for (String skillName : skillsToAdd) {
-                Skill skill = skillRepository.findByNameIgnoreCase(skillName)
-                        .orElseGet(() -> {
-                            Skill newSkill = new Skill();
-                            newSkill.setName(skillName);
-                            newSkill.setCategory("Général");
-                            return skillRepository.save(newSkill);
-                        });
-                skills.add(skill);
-            }
-            project.setSkills(skills);
-        } else {
-            project.setSkills(new HashSet<>());
-        }
+        project.setSkills(skillResolver.resolve(skillsToAdd));
 
         project = projectRepository.save(project);
         return ProjectDTO.fromEntity(project);
@@ -241,33 +242,29 @@ public class ProjectService {
         return ProjectDTO.fromEntity(project);
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getProjectsByClient(String client) {
-        return projectRepository.findByClient(client).stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findListRowsByClient(client));
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getProjectsBySkill(String skillName) {
-        return projectRepository.findBySkill(skillName).stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findListRowsBySkill(skillName));
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getProjectsByCollaborator(Long collaboratorId) {
-        return projectRepository.findByCollaboratorId(collaboratorId).stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findListRowsByCollaboratorId(collaboratorId));
     }
 
     @Transactional(readOnly = true)
     public List<ProjectDTO> getInProgressProjects() {
-        return projectRepository.findInProgressProjects().stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findInProgressListRows());
     }
 
-    public List<Project> getCriticalProjects() {
-        return projectRepository.findCriticalProjects(LocalDate.now());
+    @Transactional(readOnly = true)
+    public List<ProjectDTO> getCriticalProjects() {
+        return withSkillNames(projectRepository.findCriticalListRows(LocalDate.now()));
     }
 
     public List<Project> getProjectsBySkills(List<String> skills) {
@@ -275,63 +272,112 @@ public class ProjectService {
     }
 
     // Ajouter une méthode pour obtenir tous les projets (actifs et inactifs)
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getAllProjectsIncludingInactive() {
-        return projectRepository.findAll().stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findAllListRows());
+    }
+
+    // Tous les projets, transmis un par un à sink sans construire de liste
+    @Transactional(readOnly = true)
+    public long streamAllProjects(Consumer<? super ProjectDTO> sink) {
+        return entityStreamer.stream(projectRepository::streamAll, ProjectDTO::fromEntity, sink);
     }
 
     // Obtenir les projets actifs par statut
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getActiveProjectsByStatus(ProjectStatus status) {
-        return projectRepository.findActiveProjectsByStatusAndActive(status).stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withSkillNames(projectRepository.findActiveListRowsByStatus(status));
     }
 
     // Obtenir les projets actifs par client
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getActiveProjectsByClient(String client) {
-        return projectRepository.findActiveProjectsByClient(client).stream()
-                .map(ProjectDTO::fromEntity)
-                .collect(Collectors.toList());
-    }
-
-    // Désactiver plusieurs projets en masse
-    public void deactivateProjects(List<Long> projectIds) {
-        for (Long id : projectIds) {
-            Project project = projectRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + id));
-            
-            // Vérifier s'il y a des affectations actives
-            List<Assignment> activeAssignments = assignmentRepository.findByProjectId(id);
-            if (!activeAssignments.isEmpty()) {
-                throw new IllegalStateException("Impossible de désactiver le projet " + project.getName() + " car il a des affectations actives");
+        return withSkillNames(projectRepository.findActiveListRowsByClient(client));
+    }
+
+    // Désactiver plusieurs projets en masse : les projets ayant des affectations sont écartés
+    public BulkActivationReportDTO deactivateProjects(List<Long> projectIds) {
+        return updateActive(projectIds, false);
+    }
+
+    // Réactiver plusieurs projets en masse
+    public BulkActivationReportDTO reactivateProjects(List<Long> projectIds) {
+        return updateActive(projectIds, true);
+    }
+
+    // Une requête de contrôle et un UPDATE par tranche de ProjectionUtil.ID_BATCH_SIZE identifiants
+    private BulkActivationReportDTO updateActive(List<Long> projectIds, boolean active) {
+        Set<Long> requested = new LinkedHashSet<>(projectIds);
+        BulkActivationReportDTO report = new BulkActivationReportDTO();
+        report.setRequested(requested.size());
+        if (requested.isEmpty()) {
+            return report;
+        }
+
+        Map<Long, Boolean> assigned = new HashMap<>();
+        ProjectionUtil.groupById(List.copyOf(requested), projectRepository::findIdsWithAssignmentFlag)
+                .forEach((id, rows) -> assigned.put(id, (Boolean) rows.get(0)[1]));
+
+        List<Long> toUpdate = new ArrayList<>();
+        for (Long id : requested) {
+            Boolean hasAssignments = assigned.get(id);
+            if (hasAssignments == null) {
+                report.addOutcome(id, BulkActivationReportDTO.Status.NOT_FOUND, "Project not found with id: " + id);
+            } else if (!active && hasAssignments) {
+                report.addOutcome(id, BulkActivationReportDTO.Status.BLOCKED,
+                        "Impossible de désactiver le projet " + id + " car il a des affectations actives");
+            } else {
+                report.addOutcome(id, BulkActivationReportDTO.Status.UPDATED, null);
+                toUpdate.add(id);
             }
-            
-            project.setActive(false);
-            projectRepository.save(project);
         }
+
+        if (!toUpdate.isEmpty()) {
+            LocalDateTime updatedAt = LocalDateTime.now();
+            report.setUpdated(ProjectionUtil.updateByBatch(toUpdate,
+                    ids -> projectRepository.updateActive(ids, active, updatedAt)));
+            // L'UPDATE ne déclenche pas les listeners JPA : une seule notification pour le lot
+            statisticsStore.projectsActiveChanged(toUpdate, active);
+            skillGapService.markDirty();
+            evictAfterCommit("dashboardStats");
+        }
+        return report;
     }
 
-    // Réactiver plusieurs projets en masse
-    public void reactivateProjects(List<Long> projectIds) {
-        for (Long id : projectIds) {
-            Project project = projectRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + id));
-            
-            project.setActive(true);
-            projectRepository.save(project);
+    // Complète les projections de liste avec les noms de compétences, une requête par lot d'identifiants
+    private List<ProjectDTO> withSkillNames(List<ProjectDTO> projects) {
+        List<Long> ids = projects.stream().map(ProjectDTO::getId).collect(Collectors.toList());
+        Map<Long, List<Object[]>> skillRows = ProjectionUtil.groupById(ids, projectRepository::findSkillNamesByProjectIds);
+        for (ProjectDTO project : projects) {
+            Set<String> names = skillRows.getOrDefault(project.getId(), List.of()).stream()
+                    .map(row -> (String) row[1])
+                    .collect(Collectors.toSet());
+            project.setSkillNames(names);
+            project.setRequiredSkills(names);
         }
+        return projects;
+    }
+
+    private void evictAfterCommit(String cacheName) {
+        Runnable evict = () -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        };
+        TransactionCallbacks.afterCommit(evict);
     }
 
     // Obtenir les statistiques des projets actifs/inactifs
     public Map<String, Long> getProjectStatusStatistics() {
         Map<String, Long> statistics = new HashMap<>();
-        List<Project> allProjects = projectRepository.findAll();
-        
-        statistics.put("total", (long) allProjects.size());
-        statistics.put("active", allProjects.stream().filter(Project::isActive).count());
-        statistics.put("inactive", allProjects.stream().filter(p -> !p.isActive()).count());
-        
+        long total = statisticsStore.getTotalProjects();
+        long active = statisticsStore.getActiveProjects();
+
+        statistics.put("total", total);
+        statistics.put("active", active);
+        statistics.put("inactive", total - active);
+
         return statistics;
     }
 
@@ -370,45 +416,26 @@ public class ProjectService {
     public ProjectStatisticsDTO getProjectStatistics() {
         ProjectStatisticsDTO stats = new ProjectStatisticsDTO();
         
-        // Calculer le nombre total de projets (tous statuts confondus)
-        List<Project> allProjects = projectRepository.findAll();
-        stats.setTotalProjects(allProjects.size());
-        
-        // Calculer le nombre de projets actifs (active = true)
-        long activeProjects = allProjects.stream()
-            .filter(Project::isActive)
-            .count();
-        stats.setActiveProjects((int) activeProjects);
+        // Compteurs tenus à jour en mémoire par le StatisticsStore
+        stats.setTotalProjects((int) statisticsStore.getTotalProjects());
+        stats.setActiveProjects((int) statisticsStore.getActiveProjects());
+        stats.setCompletedProjects((int) statisticsStore.getProjectsByStatus(ProjectStatus.TERMINE));
         
-        // Calculer le nombre de projets terminés
-        long completedProjects = allProjects.stream()
-            .filter(p -> p.getStatus() == ProjectStatus.TERMINE)
-            .count();
-        stats.setCompletedProjects((int) completedProjects);
-        
-        // Calculer le nombre de projets critiques (actifs et en retard)
-        LocalDate now = LocalDate.now();
-        long criticalProjects = allProjects.stream()
-            .filter(p -> p.isActive() && 
-                        p.getEndDate() != null && 
-                        p.getEndDate().isBefore(now))
-            .count();
-        stats.setCriticalProjects((int) criticalProjects);
+        // Les projets critiques (actifs et en retard) dépendent de la date du jour
+        stats.setCriticalProjects((int) projectRepository.countActiveProjectsEndingBefore(LocalDate.now()));
 
         // Calculer les compétences les moins utilisées
-        Map<Skill, Long> skillUsage = new HashMap<>();
-        allProjects.stream()
-            .flatMap(p -> p.getSkills().stream())
-            .forEach(skill -> skillUsage.merge(skill, 1L, Long::sum));
-
-        List<Skill> leastUsedSkills = skillUsage.entrySet().stream()
-            .sorted(Map.Entry.comparingByValue())
-            .limit(5)
-            .map(Map.Entry::getKey)
+        List<Long> leastUsedSkillIds = statisticsStore.getLeastUsedProjectSkillIds(5);
+        Map<Long, Skill> skillsById = skillRepository.findAllById(leastUsedSkillIds).stream()
+            .collect(Collectors.toMap(Skill::getId, skill -> skill));
+
+        List<Skill> leastUsedSkills = leastUsedSkillIds.stream()
+            .map(skillsById::get)
+            .filter(skill -> skill != null)
             .collect(Collectors.toList());
 
         stats.setLeastUsedSkills(leastUsedSkills);
         
         return stats;
     }
-} 
\ No newline at end of file
+}
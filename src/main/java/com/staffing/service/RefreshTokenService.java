@@ -0,0 +1,179 @@
+package com.staffing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staffing.dto.AuthResponseDTO;
+import com.staffing.exception.AuthenticationException;
+import com.staffing.model.RefreshToken;
+import com.staffing.model.User;
+import com.staffing.repository.RefreshTokenRepository;
+import com.staffing.repository.UserRepository;
+import com.staffing.security.AuthenticatedUser;
+import com.staffing.security.JwtTokenProvider;
+import com.staffing.util.TokenHashUtil;
+import com.staffing.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Jetons de rafraîchissement opaques, à usage unique.
+ * <p>
+ * Seule l'empreinte SHA-256 est stockée (table refresh_tokens). Chaque
+ * rafraîchissement consomme le jeton présenté et en émet un nouveau de la même
+ * famille ; présenter un jeton déjà consommé révèle un vol : toute la famille
+ * est alors supprimée et l'utilisateur doit se reconnecter.
+ * <p>
+ * Un cache LRU conserve les jetons émis ou lus récemment : un jeton expiré ou
+ * déjà consommé sur ce nœud est refusé sans requête, un jeton absent du cache
+ * est lu par sa clé primaire. Le cache n'est mis à jour qu'après validation de
+ * la transaction ; la consommation reste un UPDATE conditionnel, qui fait foi
+ * entre plusieurs nœuds.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private record Entry(Long userId, UUID familyId, LocalDateTime expiresAt, boolean used) {
+
+        static Entry of(RefreshToken token) {
+            return new Entry(token.getUserId(), token.getFamilyId(), token.getExpiresAt(), token.isUsed());
+        }
+
+        Entry consumed() {
+            return new Entry(userId, familyId, expiresAt, true);
+        }
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Duration refreshTokenTtl;
+    private final Cache<String, Entry> recentTokens;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtTokenProvider jwtTokenProvider,
+                               @Value("${app.jwt.refresh-expiration-ms:1209600000}") long refreshExpirationMs,
+                               @Value("${app.jwt.refresh-cache-size:10000}") long cacheSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenTtl = Duration.ofMillis(refreshExpirationMs);
+        this.recentTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(refreshTokenTtl)
+                .build();
+    }
+
+    // Nouvelle famille de jetons (connexion par mot de passe)
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Consomme le jeton présenté et renvoie un nouveau jeton d'accès accompagné
+     * du jeton de rafraîchissement suivant. La suppression de la famille en cas
+     * de réutilisation est validée malgré l'exception.
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public AuthResponseDTO rotate(String presentedToken) {
+        String tokenHash = TokenHashUtil.sha256(presentedToken);
+        Entry entry = recentTokens.getIfPresent(tokenHash);
+        if (entry == null) {
+            entry = refreshTokenRepository.findById(tokenHash).map(Entry::of).orElse(null);
+        }
+        if (entry == null || entry.expiresAt().isBefore(LocalDateTime.now())) {
+            throw new AuthenticationException("Session expirée. Veuillez vous reconnecter.");
+        }
+        if (entry.used() || refreshTokenRepository.markUsed(tokenHash) == 0) {
+            logger.warn("Réutilisation d'un jeton de rafraîchissement pour l'utilisateur {} : famille révoquée",
+                    entry.userId());
+            revokeFamily(entry.familyId());
+            throw new AuthenticationException("Session invalide. Veuillez vous reconnecter.");
+        }
+        // Une rotation annulée ne doit pas faire passer la nouvelle tentative pour une réutilisation
+        Entry consumed = entry.consumed();
+        TransactionCallbacks.afterCommit(() -> recentTokens.put(tokenHash, consumed));
+
+        User user = userRepository.findById(entry.userId())
+                .orElseThrow(() -> new AuthenticationException("Session invalide. Veuillez vous reconnecter."));
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+        String accessToken = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))));
+
+        return new AuthResponseDTO(accessToken, issue(user.getId(), entry.familyId()), user);
+    }
+
+    // Déconnexion : le jeton présenté et ceux de sa famille ne sont plus acceptés
+    @Transactional
+    public void revoke(String presentedToken) {
+        String tokenHash = TokenHashUtil.sha256(presentedToken);
+        Entry entry = recentTokens.getIfPresent(tokenHash);
+        if (entry == null) {
+            entry = refreshTokenRepository.findById(tokenHash).map(Entry::of).orElse(null);
+        }
+        if (entry != null) {
+            revokeFamily(entry.familyId());
+        }
+    }
+
+    // Mot de passe modifié ou utilisateur supprimé
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        TransactionCallbacks.afterCommit(() -> recentTokens.asMap().values().removeIf(entry -> entry.userId().equals(userId)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            if (purged > 0) {
+                logger.info("{} jetons de rafraîchissement expirés supprimés", purged);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Purge des jetons de rafraîchissement impossible: {}", e.getMessage());
+        }
+    }
+
+    private String issue(Long userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(TokenHashUtil.sha256(token));
+        refreshToken.setUserId(userId);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(refreshTokenTtl));
+        refreshTokenRepository.save(refreshToken);
+
+        TransactionCallbacks.afterCommit(() -> recentTokens.put(refreshToken.getTokenHash(), Entry.of(refreshToken)));
+        return token;
+    }
+
+    private void revokeFamily(UUID familyId) {
+        refreshTokenRepository.deleteByFamilyId(familyId);
+        recentTokens.asMap().values().removeIf(entry -> entry.familyId().equals(familyId));
+    }
+}
@@ -0,0 +1,64 @@
+package com.staffing.service;
+
+import com.staffing.dto.ReleaseForecastDTO;
+import com.staffing.repository.AssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prévision hebdomadaire des libérations de collaborateurs, calculée par une
+ * seule requête regroupée par date_trunc('week', end_date).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReleaseForecastService {
+    private static final int MAX_WEEKS = 52;
+
+    private final AssignmentRepository assignmentRepository;
+
+    // La date du jour fait partie de la clé : le résultat est recalculé au plus une fois par jour
+    @Cacheable(value = "releaseForecast", key = "T(java.time.LocalDate).now() + ':' + #weeks")
+    public ReleaseForecastDTO getReleaseForecast(int weeks) {
+        int horizon = Math.max(1, Math.min(weeks, MAX_WEEKS));
+        LocalDate today = LocalDate.now();
+        // date_trunc('week') commence le lundi (ISO)
+        LocalDate firstWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate to = firstWeek.plusWeeks(horizon).minusDays(1);
+
+        Map<LocalDate, ReleaseForecastDTO.WeekForecast> byWeek = new LinkedHashMap<>();
+        for (int i = 0; i < horizon; i++) {
+            LocalDate weekStart = firstWeek.plusWeeks(i);
+            byWeek.put(weekStart, new ReleaseForecastDTO.WeekForecast(weekStart));
+        }
+
+        for (AssignmentRepository.ReleaseForecastRow row : assignmentRepository.findReleaseForecast(today, to)) {
+            ReleaseForecastDTO.WeekForecast week = byWeek.get(row.getWeekStart());
+            if (week == null) {
+                continue;
+            }
+            if (row.getRoleGrouped() == 1 && row.getSkillGrouped() == 1) {
+                week.setEndingAssignments(row.getEndingAssignments());
+                week.setReleasedCollaborators(row.getReleasedCollaborators());
+            } else if (row.getRoleGrouped() == 0 && row.getRole() != null) {
+                week.getEndingAssignmentsByRole().put(row.getRole(), row.getEndingAssignments());
+            } else if (row.getSkillGrouped() == 0 && row.getSkill() != null) {
+                week.getReleasedCollaboratorsBySkill().put(row.getSkill(), row.getReleasedCollaborators());
+            }
+        }
+
+        ReleaseForecastDTO forecast = new ReleaseForecastDTO();
+        forecast.setFrom(today);
+        forecast.setTo(to);
+        forecast.getWeeks().addAll(byWeek.values());
+        return forecast;
+    }
+}
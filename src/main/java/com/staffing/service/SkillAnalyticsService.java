@@ -0,0 +1,46 @@
+package com.staffing.service;
+
+import com.staffing.dto.SkillUsageDTO;
+import com.staffing.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Statistiques d'utilisation des compétences calculées en SQL (GROUP BY sur
+ * collaborator_skills et project_skills) : une requête par appel, quel que soit
+ * le nombre de collaborateurs ou de projets.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SkillAnalyticsService {
+    private static final int MAX_LIMIT = 100;
+
+    private final SkillRepository skillRepository;
+
+    public List<SkillUsageDTO> getSkillHistogram() {
+        return toDTOs(skillRepository.findSkillUsageHistogram());
+    }
+
+    public List<SkillUsageDTO> getMostUsedSkills(int limit) {
+        return toDTOs(skillRepository.findMostUsedSkills(normalizeLimit(limit)));
+    }
+
+    public List<SkillUsageDTO> getLeastUsedSkills(int limit) {
+        return toDTOs(skillRepository.findLeastUsedSkills(normalizeLimit(limit)));
+    }
+
+    private int normalizeLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private List<SkillUsageDTO> toDTOs(List<SkillRepository.SkillUsage> usages) {
+        return usages.stream()
+                .map(SkillUsageDTO::fromProjection)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,230 @@
+package com.staffing.service;
+
+import com.staffing.dto.SkillDTO;
+import com.staffing.repository.SkillRepository;
+import com.staffing.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Catalogue des compétences servi depuis la mémoire (liste, catégories,
+ * recherche de l'autocomplétion).
+ * <p>
+ * Le catalogue est un instantané immuable remplacé d'un bloc : compétences
+ * triées par nom, index par catégorie et index de trigrammes pour la recherche
+ * de sous-chaînes. Il est reconstruit après chaque modification validée sur ce
+ * nœud, et rechargé toutes les app.skills.catalog-refresh-ms pour prendre en
+ * compte celles faites sur un autre nœud.
+ */
+@Component
+public class SkillCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(SkillCatalog.class);
+
+    private static final int GRAM = 3;
+
+    private record Entry(Long id, String name, String category, String lowerName, String lowerCategory) {
+
+        boolean matches(String lowerQuery) {
+            return lowerName.contains(lowerQuery) || lowerCategory.contains(lowerQuery);
+        }
+
+        SkillDTO toDTO() {
+            SkillDTO dto = new SkillDTO();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setCategory(category);
+            return dto;
+        }
+    }
+
+    private static final class Snapshot {
+        // Triées par nom (insensible à la casse) puis identifiant
+        private final Entry[] entries;
+        private final List<String> categories;
+        private final Map<String, int[]> byCategory;
+        // Trigramme -> positions croissantes dans entries
+        private final Map<String, int[]> byTrigram;
+
+        Snapshot(List<Entry> source) {
+            entries = source.toArray(new Entry[0]);
+            Arrays.sort(entries, Comparator.comparing(Entry::lowerName).thenComparing(Entry::id));
+
+            Map<String, List<Integer>> categoryPositions = new TreeMap<>();
+            Map<String, List<Integer>> trigramPositions = new HashMap<>();
+            for (int i = 0; i < entries.length; i++) {
+                Entry entry = entries[i];
+                categoryPositions.computeIfAbsent(entry.category(), key -> new ArrayList<>()).add(i);
+                Set<String> trigrams = new HashSet<>();
+                addTrigrams(entry.lowerName(), trigrams);
+                addTrigrams(entry.lowerCategory(), trigrams);
+                for (String trigram : trigrams) {
+                    trigramPositions.computeIfAbsent(trigram, key -> new ArrayList<>()).add(i);
+                }
+            }
+            categories = List.copyOf(categoryPositions.keySet());
+            byCategory = toArrays(categoryPositions);
+            byTrigram = toArrays(trigramPositions);
+        }
+
+        private static Map<String, int[]> toArrays(Map<String, List<Integer>> positions) {
+            Map<String, int[]> arrays = new HashMap<>(positions.size() * 2);
+            positions.forEach((key, list) -> arrays.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+            return arrays;
+        }
+    }
+
+    private final SkillRepository skillRepository;
+    private volatile Snapshot snapshot;
+
+    public SkillCatalog(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    public List<SkillDTO> getAll() {
+        Entry[] entries = current().entries;
+        List<SkillDTO> result = new ArrayList<>(entries.length);
+        for (Entry entry : entries) {
+            result.add(entry.toDTO());
+        }
+        return result;
+    }
+
+    public List<String> getCategories() {
+        return current().categories;
+    }
+
+    public List<SkillDTO> getByCategory(String category) {
+        Snapshot current = current();
+        int[] positions = current.byCategory.get(category);
+        return positions == null ? Collections.emptyList() : toDTOs(current, positions);
+    }
+
+    // Sous-chaîne du nom ou de la catégorie, sans tenir compte de la casse
+    public List<SkillDTO> search(String query) {
+        Snapshot current = current();
+        if (query == null || query.isEmpty()) {
+            return getAll();
+        }
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        List<SkillDTO> result = new ArrayList<>();
+        if (lowerQuery.length() < GRAM) {
+            // Requête trop courte pour l'index : parcours du tableau (catalogue de petite taille)
+            for (Entry entry : current.entries) {
+                if (entry.matches(lowerQuery)) {
+                    result.add(entry.toDTO());
+                }
+            }
+            return result;
+        }
+
+        int[] candidates = null;
+        for (int i = 0; i + GRAM <= lowerQuery.length(); i++) {
+            int[] positions = current.byTrigram.get(lowerQuery.substring(i, i + GRAM));
+            if (positions == null) {
+                return result;
+            }
+            candidates = candidates == null ? positions : intersect(candidates, positions);
+            if (candidates.length == 0) {
+                return result;
+            }
+        }
+        // Les trigrammes communs ne garantissent pas la sous-chaîne : vérification finale
+        for (int position : candidates) {
+            Entry entry = current.entries[position];
+            if (entry.matches(lowerQuery)) {
+                result.add(entry.toDTO());
+            }
+        }
+        return result;
+    }
+
+    // Reconstruction après validation de la transaction courante
+    public void refreshAfterCommit() {
+        TransactionCallbacks.afterCommit(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${app.skills.catalog-refresh-ms:60000}",
+               initialDelayString = "${app.skills.catalog-refresh-ms:60000}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            logger.warn("Rechargement du catalogue des compétences impossible: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    // Sérialisée : un instantané plus ancien ne peut pas remplacer un plus récent
+    private synchronized void rebuild() {
+        List<Entry> entries = new ArrayList<>();
+        for (Object[] row : skillRepository.findCatalogRows()) {
+            String name = (String) row[1];
+            String category = (String) row[2];
+            entries.add(new Entry((Long) row[0], name, category,
+                    name.toLowerCase(Locale.ROOT), category.toLowerCase(Locale.ROOT)));
+        }
+        snapshot = new Snapshot(entries);
+        logger.debug("Catalogue des compétences reconstruit: {} compétences", entries.size());
+    }
+
+    private static List<SkillDTO> toDTOs(Snapshot snapshot, int[] positions) {
+        List<SkillDTO> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(snapshot.entries[position].toDTO());
+        }
+        return result;
+    }
+
+    private static void addTrigrams(String text, Set<String> trigrams) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    // Intersection de deux tableaux croissants
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
@@ -0,0 +1,90 @@
+package com.staffing.service;
+
+import com.staffing.dto.SkillGapDTO;
+import com.staffing.repository.SkillGapRepository;
+import com.staffing.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Matrice offre/demande des compétences servie depuis la vue matérialisée
+ * skill_gap_matrix.
+ * <p>
+ * Les modifications de projets, collaborateurs, affectations et compétences
+ * marquent la vue comme obsolète (voir SkillGapEntityListener) ; le job de
+ * rafraîchissement la recalcule alors avec REFRESH ... CONCURRENTLY, sans
+ * bloquer les lectures. Un rafraîchissement est aussi forcé passé un délai
+ * maximal, pour couvrir les mises à jour en masse qui ne passent pas par JPA.
+ */
+@Service
+public class SkillGapService {
+    private static final Logger logger = LoggerFactory.getLogger(SkillGapService.class);
+
+    private final SkillGapRepository skillGapRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxStalenessMs;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile long lastRefresh;
+
+    public SkillGapService(SkillGapRepository skillGapRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${app.skill-gap.max-staleness-ms:600000}") long maxStalenessMs) {
+        this.skillGapRepository = skillGapRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    public List<SkillGapDTO> getSkillGaps(boolean uncoveredOnly) {
+        return (uncoveredOnly
+                ? skillGapRepository.findByGapGreaterThanOrderByGapDescSkillNameAsc(0)
+                : skillGapRepository.findAllByOrderByGapDescSkillNameAsc())
+                .stream()
+                .map(SkillGapDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    // Appelé par les listeners JPA : la vue sera recalculée une fois la transaction validée
+    public void markDirty() {
+        TransactionCallbacks.afterCommit(() -> dirty.set(true));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.skill-gap.refresh-interval-ms:30000}",
+               initialDelayString = "${app.skill-gap.refresh-interval-ms:30000}")
+    public void refreshIfNeeded() {
+        boolean stale = System.currentTimeMillis() - lastRefresh >= maxStalenessMs;
+        if (dirty.get() || stale) {
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        // Remis à false avant le calcul : une modification concurrente déclenchera un nouveau passage
+        dirty.set(false);
+        try {
+            long start = System.currentTimeMillis();
+            transactionTemplate.executeWithoutResult(status -> skillGapRepository.refresh());
+            lastRefresh = System.currentTimeMillis();
+            logger.debug("Vue skill_gap_matrix rafraîchie en {} ms", lastRefresh - start);
+        } catch (DataAccessException e) {
+            dirty.set(true);
+            logger.error("Échec du rafraîchissement de la vue skill_gap_matrix: {}", e.getMessage());
+        }
+    }
+}
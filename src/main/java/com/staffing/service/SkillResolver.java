@@ -0,0 +1,192 @@
+package com.staffing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staffing.model.Skill;
+import com.staffing.repository.SkillRepository;
+import com.staffing.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Résolution groupée des compétences par nom, avec création des manquantes.
+ * <p>
+ * Les noms sont comparés sans tenir compte de la casse ni des espaces de bord.
+ * Un ensemble de noms coûte au plus une requête {@code lower(name) IN (...)} et
+ * un INSERT unique {@code ... ON CONFLICT DO NOTHING RETURNING}, appuyé sur
+ * l'index unique idx_skills_lower_name. Les identifiants résolus sont gardés
+ * dans un cache nom → id, au plus app.skills.catalog-refresh-ms ; ceux des
+ * compétences créées n'y entrent qu'une fois la transaction validée.
+ */
+@Component
+public class SkillResolver {
+
+    public static final String DEFAULT_CATEGORY = "Général";
+
+    private static final String INSERT_MISSING =
+            "INSERT INTO skills (name, category) SELECT candidate.name, ? FROM unnest(?::varchar[]) AS candidate(name) " +
+            "ON CONFLICT ((lower(name))) DO NOTHING RETURNING id, name";
+
+    /**
+     * Identifiants par clé normalisée (voir {@link #key(String)}) et nombre de
+     * compétences créées pour les obtenir.
+     */
+    public record SkillIds(Map<String, Long> ids, int created) {
+    }
+
+    private record Resolution(Map<String, Long> ids, Map<Long, Skill> loaded, int created) {
+    }
+
+    private final SkillRepository skillRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SkillGapService skillGapService;
+    private final SkillCatalog skillCatalog;
+    private final Cache<String, Long> idsByKey;
+
+    public SkillResolver(SkillRepository skillRepository,
+                         JdbcTemplate jdbcTemplate,
+                         SkillGapService skillGapService,
+                         SkillCatalog skillCatalog,
+                         @Value("${app.skills.resolver-cache-size:10000}") long cacheSize,
+                         @Value("${app.skills.catalog-refresh-ms:60000}") long refreshMs) {
+        this.skillRepository = skillRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.skillGapService = skillGapService;
+        this.skillCatalog = skillCatalog;
+        // evictAll n'agit que sur ce nœud : les entrées expirent au même rythme que le rechargement du catalogue
+        this.idsByKey = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(refreshMs))
+                .build();
+    }
+
+    public static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Compétences correspondant aux noms, créées au besoin dans la catégorie par
+     * défaut. Doit être appelé dans la transaction qui les associe.
+     */
+    public Set<Skill> resolve(Collection<String> names) {
+        return resolve(names, true);
+    }
+
+    private Set<Skill> resolve(Collection<String> names, boolean retryIfStale) {
+        Resolution resolution = resolveInternal(names);
+        Set<Skill> skills = new HashSet<>(resolution.loaded().values());
+
+        // Identifiants venus du cache ou de l'INSERT : une requête par clé primaire
+        List<Long> toLoad = resolution.ids().values().stream()
+                .filter(id -> !resolution.loaded().containsKey(id))
+                .distinct()
+                .toList();
+        if (!toLoad.isEmpty()) {
+            List<Skill> found = skillRepository.findAllById(toLoad);
+            boolean stale = found.size() < toLoad.size() || found.stream()
+                    .anyMatch(skill -> !skill.getId().equals(resolution.ids().get(key(skill.getName()))));
+            if (stale && retryIfStale) {
+                // Compétence supprimée ou renommée, éventuellement sur un autre nœud, depuis sa mise en cache :
+                // nouvelle résolution par nom
+                idsByKey.invalidateAll(resolution.ids().keySet());
+                return resolve(names, false);
+            }
+            skills.addAll(found);
+        }
+        return skills;
+    }
+
+    // Identifiants seuls, sans charger les entités (import JDBC)
+    public SkillIds resolveIds(Collection<String> names) {
+        Resolution resolution = resolveInternal(names);
+        return new SkillIds(resolution.ids(), resolution.created());
+    }
+
+    // Après renommage ou suppression d'une compétence
+    public void evictAll() {
+        TransactionCallbacks.afterCommit(idsByKey::invalidateAll);
+    }
+
+    private Resolution resolveInternal(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        Map<Long, Skill> loaded = new HashMap<>();
+        if (names == null || names.isEmpty()) {
+            return new Resolution(ids, loaded, 0);
+        }
+
+        // Nom tel que saisi (première occurrence) par clé normalisée
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            String key = key(name);
+            Long id = idsByKey.getIfPresent(key);
+            if (id != null) {
+                ids.put(key, id);
+            } else {
+                missing.putIfAbsent(key, name.trim());
+            }
+        }
+        if (missing.isEmpty()) {
+            return new Resolution(ids, loaded, 0);
+        }
+
+        loadExisting(missing, ids, loaded);
+        if (missing.isEmpty()) {
+            return new Resolution(ids, loaded, 0);
+        }
+
+        Map<String, Long> created = insertMissing(missing.values());
+        created.forEach((key, id) -> {
+            ids.put(key, id);
+            missing.remove(key);
+        });
+        if (!created.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> idsByKey.putAll(created));
+            // Les INSERT JDBC ne passent pas par les listeners JPA
+            skillGapService.markDirty();
+            skillCatalog.refreshAfterCommit();
+        }
+        // Créées entre-temps par une autre transaction (conflit ignoré par l'INSERT)
+        if (!missing.isEmpty()) {
+            loadExisting(missing, ids, loaded);
+        }
+        return new Resolution(ids, loaded, created.size());
+    }
+
+    private void loadExisting(Map<String, String> missing, Map<String, Long> ids, Map<Long, Skill> loaded) {
+        for (Skill skill : skillRepository.findByLowerNameIn(missing.keySet())) {
+            String key = key(skill.getName());
+            ids.put(key, skill.getId());
+            loaded.put(skill.getId(), skill);
+            idsByKey.put(key, skill.getId());
+            missing.remove(key);
+        }
+    }
+
+    private Map<String, Long> insertMissing(Collection<String> names) {
+        Map<String, Long> created = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_MISSING);
+            ps.setString(1, DEFAULT_CATEGORY);
+            ps.setArray(2, connection.createArrayOf("varchar", names.toArray()));
+            return ps;
+        }, rs -> {
+            created.put(key(rs.getString("name")), rs.getLong("id"));
+        });
+        return created;
+    }
+}
@@ -0,0 +1,333 @@
+package com.staffing.service;
+
+import com.staffing.model.enums.CollaboratorStatus;
+import com.staffing.model.enums.ProjectStatus;
+import com.staffing.repository.CollaboratorRepository;
+import com.staffing.repository.ProjectRepository;
+import com.staffing.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Compteurs statistiques des projets et collaborateurs maintenus en mémoire.
+ * <p>
+ * Les compteurs sont reconstruits depuis la base au démarrage, puis mis à jour
+ * de façon incrémentale par les événements JPA (voir StatisticsEntityListener)
+ * une fois la transaction validée. Un job de réconciliation périodique compare
+ * les compteurs aux tables et journalise tout écart avant de les resynchroniser.
+ */
+@Component
+public class StatisticsStore {
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsStore.class);
+
+    private final ProjectRepository projectRepository;
+    private final CollaboratorRepository collaboratorRepository;
+
+    private volatile Counters counters = new Counters();
+
+    public StatisticsStore(ProjectRepository projectRepository,
+                           CollaboratorRepository collaboratorRepository) {
+        this.projectRepository = projectRepository;
+        this.collaboratorRepository = collaboratorRepository;
+    }
+
+    /**
+     * État d'un projet tel que vu par les compteurs. {@code skillIds} vaut null
+     * lorsque les compétences n'ont pas été chargées : les précédentes sont conservées.
+     */
+    public record ProjectState(ProjectStatus status, boolean active, Set<Long> skillIds) {
+    }
+
+    /**
+     * État d'un collaborateur tel que vu par les compteurs. {@code skillNames} vaut
+     * null lorsque les compétences n'ont pas été chargées : les précédentes sont conservées.
+     */
+    public record CollaboratorState(CollaboratorStatus status, boolean active, Set<String> skillNames) {
+    }
+
+    // ----- Alimentation par les événements JPA -----
+
+    public void projectSaved(Long id, ProjectState state) {
+        TransactionCallbacks.afterCommit(() -> counters.applyProject(id, state));
+    }
+
+    public void projectRemoved(Long id) {
+        TransactionCallbacks.afterCommit(() -> counters.applyProject(id, null));
+    }
+
+    // Mises à jour en masse du seul indicateur actif (requêtes UPDATE sans événement JPA)
+    public void projectsActiveChanged(Collection<Long> ids, boolean active) {
+        List<Long> snapshot = List.copyOf(ids);
+        TransactionCallbacks.afterCommit(() -> snapshot.forEach(id -> counters.setProjectActive(id, active)));
+    }
+
+    public void collaboratorsActiveChanged(Collection<Long> ids, boolean active) {
+        List<Long> snapshot = List.copyOf(ids);
+        TransactionCallbacks.afterCommit(() -> snapshot.forEach(id -> counters.setCollaboratorActive(id, active)));
+    }
+
+    public void collaboratorsStatusChanged(Collection<Long> ids, CollaboratorStatus status) {
+        List<Long> snapshot = List.copyOf(ids);
+        TransactionCallbacks.afterCommit(() -> snapshot.forEach(id -> counters.setCollaboratorStatus(id, status)));
+    }
+
+    public void collaboratorSaved(Long id, CollaboratorState state) {
+        TransactionCallbacks.afterCommit(() -> counters.applyCollaborator(id, state));
+    }
+
+    public void collaboratorRemoved(Long id) {
+        TransactionCallbacks.afterCommit(() -> counters.applyCollaborator(id, null));
+    }
+
+    // ----- Lectures O(1) -----
+
+    public long getTotalProjects() {
+        return counters.totalProjects.sum();
+    }
+
+    public long getActiveProjects() {
+        return counters.activeProjects.sum();
+    }
+
+    public long getProjectsByStatus(ProjectStatus status) {
+        return counters.projectsByStatus.get(status).sum();
+    }
+
+    // Identifiants des compétences les moins demandées par les projets
+    public List<Long> getLeastUsedProjectSkillIds(int limit) {
+        return counters.projectsBySkill.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.comparingByValue())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public long getTotalCollaborators() {
+        return counters.totalCollaborators.sum();
+    }
+
+    public long getActiveCollaborators() {
+        return counters.activeCollaborators.sum();
+    }
+
+    public long getActiveCollaboratorsByStatus(CollaboratorStatus status) {
+        return counters.activeCollaboratorsByStatus.get(status).sum();
+    }
+
+    // Nombre de collaborateurs actifs par nom de compétence
+    public Map<String, Long> getActiveCollaboratorSkillUsage() {
+        Map<String, Long> usage = new HashMap<>();
+        counters.activeCollaboratorsBySkill.forEach((skill, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                usage.put(skill, value);
+            }
+        });
+        return usage;
+    }
+
+    // ----- Reconstruction et réconciliation -----
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        counters = loadFromDatabase();
+        logger.info("Statistiques reconstruites: {} projets, {} collaborateurs",
+                getTotalProjects(), getTotalCollaborators());
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval-ms:600000}",
+               initialDelayString = "${app.statistics.reconcile-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Counters expected = loadFromDatabase();
+        Map<String, Long> actualSummary = counters.summary();
+        Map<String, Long> expectedSummary = expected.summary();
+
+        Set<String> keys = new HashSet<>(actualSummary.keySet());
+        keys.addAll(expectedSummary.keySet());
+        Map<String, String> drift = new TreeMap<>();
+        for (String key : keys) {
+            long actual = actualSummary.getOrDefault(key, 0L);
+            long wanted = expectedSummary.getOrDefault(key, 0L);
+            if (actual != wanted) {
+                drift.put(key, actual + " -> " + wanted);
+            }
+        }
+
+        if (!drift.isEmpty()) {
+            logger.warn("Écart détecté entre les statistiques en mémoire et la base: {}", drift);
+        }
+        counters = expected;
+    }
+
+    private Counters loadFromDatabase() {
+        Counters fresh = new Counters();
+
+        Map<Long, Set<Long>> projectSkills = new HashMap<>();
+        for (Object[] row : projectRepository.findProjectSkillPairs()) {
+            projectSkills.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        for (Object[] row : projectRepository.findStatisticsRows()) {
+            Long id = (Long) row[0];
+            fresh.applyProject(id, new ProjectState((ProjectStatus) row[1], (Boolean) row[2],
+                    projectSkills.getOrDefault(id, Collections.emptySet())));
+        }
+
+        Map<Long, Set<String>> collaboratorSkills = new HashMap<>();
+        for (Object[] row : collaboratorRepository.findCollaboratorSkillPairs()) {
+            collaboratorSkills.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        for (Object[] row : collaboratorRepository.findStatisticsRows()) {
+            Long id = (Long) row[0];
+            fresh.applyCollaborator(id, new CollaboratorState((CollaboratorStatus) row[1], (Boolean) row[2],
+                    collaboratorSkills.getOrDefault(id, Collections.emptySet())));
+        }
+
+        return fresh;
+    }
+
+    private static final class Counters {
+        private final Map<Long, ProjectState> projects = new ConcurrentHashMap<>();
+        private final Map<Long, CollaboratorState> collaborators = new ConcurrentHashMap<>();
+
+        private final LongAdder totalProjects = new LongAdder();
+        private final LongAdder activeProjects = new LongAdder();
+        private final Map<ProjectStatus, LongAdder> projectsByStatus = new EnumMap<>(ProjectStatus.class);
+        private final Map<Long, LongAdder> projectsBySkill = new ConcurrentHashMap<>();
+
+        private final LongAdder totalCollaborators = new LongAdder();
+        private final LongAdder activeCollaborators = new LongAdder();
+        private final Map<CollaboratorStatus, LongAdder> activeCollaboratorsByStatus = new EnumMap<>(CollaboratorStatus.class);
+        private final Map<String, LongAdder> activeCollaboratorsBySkill = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (ProjectStatus status : ProjectStatus.values()) {
+                projectsByStatus.put(status, new LongAdder());
+            }
+            for (CollaboratorStatus status : CollaboratorStatus.values()) {
+                activeCollaboratorsByStatus.put(status, new LongAdder());
+            }
+        }
+
+        void applyProject(Long id, ProjectState state) {
+            ProjectState[] previous = new ProjectState[1];
+            ProjectState current = projects.compute(id, (key, old) -> {
+                previous[0] = old;
+                if (state == null) {
+                    return null;
+                }
+                if (state.skillIds() != null) {
+                    return state;
+                }
+                Set<Long> skillIds = old != null ? old.skillIds() : Collections.emptySet();
+                return new ProjectState(state.status(), state.active(), skillIds);
+            });
+            countProject(previous[0], -1);
+            countProject(current, 1);
+        }
+
+        void applyCollaborator(Long id, CollaboratorState state) {
+            CollaboratorState[] previous = new CollaboratorState[1];
+            CollaboratorState current = collaborators.compute(id, (key, old) -> {
+                previous[0] = old;
+                if (state == null || state.skillNames() != null) {
+                    return state;
+                }
+                Set<String> skillNames = old != null ? old.skillNames() : Collections.emptySet();
+                return new CollaboratorState(state.status(), state.active(), skillNames);
+            });
+            countCollaborator(previous[0], -1);
+            countCollaborator(current, 1);
+        }
+
+        void setProjectActive(Long id, boolean active) {
+            ProjectState old = projects.get(id);
+            if (old != null) {
+                applyProject(id, new ProjectState(old.status(), active, null));
+            }
+        }
+
+        void setCollaboratorActive(Long id, boolean active) {
+            CollaboratorState old = collaborators.get(id);
+            if (old != null) {
+                applyCollaborator(id, new CollaboratorState(old.status(), active, old.skillNames()));
+            }
+        }
+
+        void setCollaboratorStatus(Long id, CollaboratorStatus status) {
+            CollaboratorState old = collaborators.get(id);
+            if (old != null) {
+                applyCollaborator(id, new CollaboratorState(status, old.active(), old.skillNames()));
+            }
+        }
+
+        private void countProject(ProjectState state, int delta) {
+            if (state == null) {
+                return;
+            }
+            totalProjects.add(delta);
+            if (state.active()) {
+                activeProjects.add(delta);
+            }
+            if (state.status() != null) {
+                projectsByStatus.get(state.status()).add(delta);
+            }
+            for (Long skillId : state.skillIds()) {
+                projectsBySkill.computeIfAbsent(skillId, key -> new LongAdder()).add(delta);
+            }
+        }
+
+        private void countCollaborator(CollaboratorState state, int delta) {
+            if (state == null) {
+                return;
+            }
+            totalCollaborators.add(delta);
+            if (!state.active()) {
+                return;
+            }
+            activeCollaborators.add(delta);
+            if (state.status() != null) {
+                activeCollaboratorsByStatus.get(state.status()).add(delta);
+            }
+            for (String skillName : state.skillNames()) {
+                if (skillName != null && !skillName.trim().isEmpty()) {
+                    activeCollaboratorsBySkill.computeIfAbsent(skillName, key -> new LongAdder()).add(delta);
+                }
+            }
+        }
+
+        Map<String, Long> summary() {
+            Map<String, Long> summary = new HashMap<>();
+            summary.put("projects.total", totalProjects.sum());
+            summary.put("projects.active", activeProjects.sum());
+            projectsByStatus.forEach((status, count) -> summary.put("projects.status." + status, count.sum()));
+            projectsBySkill.forEach((skillId, count) -> summary.put("projects.skill." + skillId, count.sum()));
+            summary.put("collaborators.total", totalCollaborators.sum());
+            summary.put("collaborators.active", activeCollaborators.sum());
+            activeCollaboratorsByStatus.forEach((status, count) -> summary.put("collaborators.status." + status, count.sum()));
+            activeCollaboratorsBySkill.forEach((skill, count) -> summary.put("collaborators.skill." + skill, count.sum()));
+            return summary;
+        }
+    }
+}
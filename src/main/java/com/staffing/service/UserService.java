@@ -5,6 +5,7 @@ import com.staffing.model.User;
 import com.staffing.model.enums.UserRole;
 import com.staffing.repository.UserRepository;
 import com.staffing.security.SecurityUtils;
+import com.staffing.security.TokenVersionRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
@@ -27,6 +28,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final SecurityUtils securityUtils;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RefreshTokenService refreshTokenService;
 
     @Cacheable(value = "users", key = "'all'")
     public List<UserDTO> getAllUsers() {
@@ -83,6 +86,8 @@ public class UserService {
             throw new IllegalArgumentException("Un utilisateur existe déjà avec cet email");
         }
 
+        boolean credentialsChanged = !existingUser.getEmail().equals(userDTO.getEmail())
+                || existingUser.getRole() != userDTO.getRole();
         existingUser.setFirstName(userDTO.getFirstName());
         existingUser.setLastName(userDTO.getLastName());
         existingUser.setEmail(userDTO.getEmail());
@@ -92,6 +97,13 @@ public class UserService {
 
         if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+            credentialsChanged = true;
+        }
+
+        // Email, rôle ou mot de passe modifié : les jetons déjà émis ne sont plus acceptés
+        if (credentialsChanged) {
+            tokenVersionRegistry.invalidateTokens(id);
+            refreshTokenService.revokeAll(id);
         }
 
         return UserDTO.fromEntity(userRepository.save(existingUser));
@@ -116,6 +128,8 @@ public class UserService {
         }
 
         userRepository.delete(user);
+        tokenVersionRegistry.revoke(id);
+        refreshTokenService.revokeAll(id);
     }
 
     @CachePut(value = "users", key = "#id")
@@ -133,6 +147,7 @@ public class UserService {
 
         user.setRole(newRole);
         userRepository.save(user);
+        tokenVersionRegistry.invalidateTokens(id);
     }
 
     @Cacheable(value = "users", key = "#root.method.name")
@@ -3,14 +3,16 @@ package com.staffing.service.impl;
 import com.staffing.dto.SkillDTO;
 import com.staffing.model.Skill;
 import com.staffing.repository.SkillRepository;
+import com.staffing.service.SkillCatalog;
+import com.staffing.service.SkillResolver;
 import com.staffing.service.SkillService;
 import com.staffing.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -19,11 +21,16 @@ public class SkillServiceImpl implements SkillService {
     @Autowired
     private SkillRepository skillRepository;
 
+    @Autowired
+    private SkillResolver skillResolver;
+
+    @Autowired
+    private SkillCatalog skillCatalog;
+
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<SkillDTO> getAllSkills() {
-        return skillRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return skillCatalog.getAll();
     }
 
     @Override
@@ -34,21 +41,22 @@ public class SkillServiceImpl implements SkillService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<SkillDTO> getSkillsByCategory(String category) {
-        return skillRepository.findByCategory(category).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return skillCatalog.getByCategory(category);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<String> getAllCategories() {
-        return skillRepository.findDistinctCategories();
+        return skillCatalog.getCategories();
     }
 
     @Override
     public SkillDTO createSkill(SkillDTO skillDTO) {
         Skill skill = convertToEntity(skillDTO);
         Skill savedSkill = skillRepository.save(skill);
+        skillCatalog.refreshAfterCommit();
         return convertToDTO(savedSkill);
     }
 
@@ -61,6 +69,8 @@ public class SkillServiceImpl implements SkillService {
         skill.setCategory(skillDTO.getCategory());
         
         Skill updatedSkill = skillRepository.save(skill);
+        skillResolver.evictAll();
+        skillCatalog.refreshAfterCommit();
         return convertToDTO(updatedSkill);
     }
 
@@ -70,13 +80,15 @@ public class SkillServiceImpl implements SkillService {
             throw new ResourceNotFoundException("Skill", "id", id);
         }
         skillRepository.deleteById(id);
+        skillResolver.evictAll();
+        skillCatalog.refreshAfterCommit();
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<SkillDTO> searchSkills(String query) {
-        return skillRepository.searchSkills(query).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        // Servie par le catalogue en mémoire, sans requête
+        return skillCatalog.search(query);
     }
 
     private SkillDTO convertToDTO(Skill skill) {
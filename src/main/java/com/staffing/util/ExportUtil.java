@@ -0,0 +1,64 @@
+package com.staffing.util;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+public final class ExportUtil {
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private ExportUtil() {
+    }
+
+    /**
+     * Fichier CSV en pièce jointe, écrit au fil de l'eau par {@code writer} et
+     * compressé en gzip si le client l'accepte.
+     */
+    public static ResponseEntity<StreamingResponseBody> csvAttachment(String fileName, String acceptEncoding,
+                                                                      StreamingResponseBody writer) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = !gzip ? writer : out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            writer.writeTo(compressed);
+            compressed.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // gzip présent dans Accept-Encoding et non exclu par q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.staffing.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Écrit des éléments un par un sur le flux de réponse, soit sous forme de
+ * tableau JSON, soit en NDJSON (un objet JSON par ligne).
+ */
+public final class JsonStreamWriter implements Consumer<Object> {
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
+    private final JsonGenerator generator;
+    private final OutputStream out;
+    private final boolean ndjson;
+
+    private JsonStreamWriter(ObjectMapper objectMapper, OutputStream out, boolean ndjson) throws IOException {
+        this.out = out;
+        this.ndjson = ndjson;
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // Le flux de réponse est fermé par le conteneur, pas par le générateur
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (ndjson) {
+            // Les lignes sont séparées par '\n', sans l'espace ajouté par défaut entre valeurs racines
+            generator.setRootValueSeparator(null);
+        } else {
+            generator.writeStartArray();
+        }
+    }
+
+    public static JsonStreamWriter array(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return new JsonStreamWriter(objectMapper, out, false);
+    }
+
+    public static JsonStreamWriter ndjson(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return new JsonStreamWriter(objectMapper, out, true);
+    }
+
+    /**
+     * Réponse écrite au fil de l'eau par {@code producer} : le premier octet part
+     * dès le premier élément, sans construire la liste complète en mémoire.
+     */
+    public static ResponseEntity<StreamingResponseBody> response(ObjectMapper objectMapper, String acceptHeader,
+                                                                 Consumer<Consumer<Object>> producer) {
+        boolean ndjson = acceptsNdjson(acceptHeader);
+        StreamingResponseBody body = out -> {
+            JsonStreamWriter writer = ndjson ? ndjson(objectMapper, out) : array(objectMapper, out);
+            producer.accept(writer);
+            // Pas de fin de tableau si producer échoue : le client voit une réponse tronquée, pas une liste incomplète valide
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // NDJSON si le client l'accepte explicitement, tableau JSON sinon
+    public static boolean acceptsNdjson(String acceptHeader) {
+        return acceptHeader != null && MediaType.parseMediaTypes(acceptHeader).stream()
+                .anyMatch(NDJSON::equalsTypeAndSubtype);
+    }
+
+    @Override
+    public void accept(Object item) {
+        try {
+            generator.writeObject(item);
+            if (ndjson) {
+                generator.flush();
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Termine le tableau JSON, uniquement après que tous les éléments ont été écrits
+    public void finish() throws IOException {
+        if (!ndjson) {
+            generator.writeEndArray();
+        }
+        generator.flush();
+    }
+}
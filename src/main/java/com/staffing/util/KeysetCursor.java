@@ -0,0 +1,113 @@
+package com.staffing.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.staffing.exception.InvalidPaginationException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Curseur opaque de pagination keyset : propriété et sens du tri, plus les
+ * valeurs de clé (propriété de tri et id) de la dernière ligne renvoyée.
+ * <p>
+ * Les valeurs sont typées pour être rendues à l'identique à la requête suivante ;
+ * le tout est sérialisé en JSON puis encodé en base64 URL-safe.
+ */
+public final class KeysetCursor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String sortProperty;
+    private final Sort.Direction direction;
+    private final Map<String, Object> keys;
+
+    public KeysetCursor(String sortProperty, Sort.Direction direction, Map<String, ?> keys) {
+        this.sortProperty = sortProperty;
+        this.direction = direction;
+        this.keys = new LinkedHashMap<>(keys);
+    }
+
+    public String getSortProperty() {
+        return sortProperty;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Map<String, Object> getKeys() {
+        return keys;
+    }
+
+    public String encode() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("s", sortProperty);
+        payload.put("d", direction.name());
+        Map<String, List<String>> typedKeys = new LinkedHashMap<>();
+        keys.forEach((name, value) -> typedKeys.put(name, List.of(typeOf(value), String.valueOf(value))));
+        payload.put("k", typedKeys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Impossible d'encoder le curseur", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static KeysetCursor decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII));
+            Map<String, Object> payload = MAPPER.readValue(json, Map.class);
+            Map<String, List<String>> typedKeys = (Map<String, List<String>>) payload.get("k");
+            Map<String, Object> keys = new LinkedHashMap<>();
+            typedKeys.forEach((name, typed) -> keys.put(name, parse(typed.get(0), typed.get(1))));
+            return new KeysetCursor((String) payload.get("s"),
+                    Sort.Direction.fromString((String) payload.get("d")), keys);
+        } catch (Exception e) {
+            throw new InvalidPaginationException("Curseur de pagination invalide");
+        }
+    }
+
+    private static String typeOf(Object value) {
+        if (value instanceof Long) {
+            return "L";
+        } else if (value instanceof Integer) {
+            return "I";
+        } else if (value instanceof Double) {
+            return "F";
+        } else if (value instanceof LocalDate) {
+            return "D";
+        } else if (value instanceof LocalDateTime) {
+            return "T";
+        } else if (value instanceof String) {
+            return "S";
+        }
+        throw new IllegalArgumentException("Type de clé non supporté: " + value.getClass().getName());
+    }
+
+    private static Object parse(String type, String value) {
+        switch (type) {
+            case "L":
+                return Long.valueOf(value);
+            case "I":
+                return Integer.valueOf(value);
+            case "F":
+                return Double.valueOf(value);
+            case "D":
+                return LocalDate.parse(value);
+            case "T":
+                return LocalDateTime.parse(value);
+            case "S":
+                return value;
+            default:
+                throw new IllegalArgumentException("Type de clé inconnu: " + type);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.staffing.util;
+
+import com.staffing.dto.KeysetPage;
+import com.staffing.dto.KeysetPageRequest;
+import com.staffing.exception.InvalidPaginationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.Set;
+
+/**
+ * Pagination keyset (seek) : chaque page est lue avec
+ * {@code WHERE (tri, id) > (dernière valeur) ORDER BY tri, id LIMIT n + 1},
+ * quel que soit le rang de la page, et sans COUNT(*) sauf demande explicite.
+ */
+public final class KeysetPaginator {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 200;
+    private static final String ID = "id";
+
+    private KeysetPaginator() {
+    }
+
+    /**
+     * @param sortableProperties propriétés non nulles autorisées comme clé de tri
+     */
+    public static <T> KeysetPage<T> scroll(JpaSpecificationExecutor<T> executor,
+                                           Specification<T> spec,
+                                           KeysetPageRequest request,
+                                           Set<String> sortableProperties) {
+        int limit = request.getLimit() != null
+                ? Math.max(1, Math.min(request.getLimit(), MAX_LIMIT))
+                : DEFAULT_LIMIT;
+
+        String sortProperty;
+        Sort.Direction direction;
+        ScrollPosition position;
+        if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+            KeysetCursor cursor = KeysetCursor.decode(request.getCursor());
+            sortProperty = cursor.getSortProperty();
+            direction = cursor.getDirection();
+            position = ScrollPosition.forward(cursor.getKeys());
+        } else {
+            sortProperty = request.getSort() != null ? request.getSort() : ID;
+            direction = parseDirection(request.getDirection());
+            position = ScrollPosition.keyset();
+        }
+        if (!ID.equals(sortProperty) && !sortableProperties.contains(sortProperty)) {
+            throw new InvalidPaginationException("Tri non supporté: " + sortProperty
+                    + " (valeurs possibles: " + sortableProperties + ")");
+        }
+
+        // L'id départage les valeurs de tri égales et rend la position unique
+        Sort sort = ID.equals(sortProperty)
+                ? Sort.by(direction, ID)
+                : Sort.by(direction, sortProperty).and(Sort.by(direction, ID));
+
+        ScrollPosition start = position;
+        Window<T> window = executor.findBy(spec, query -> query.sortBy(sort).limit(limit).scroll(start));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = new KeysetCursor(sortProperty, direction, last.getKeys()).encode();
+        }
+        Long total = request.isIncludeTotal() ? executor.count(spec) : null;
+
+        return new KeysetPage<>(window.getContent(), limit, nextCursor, total);
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        if (direction == null) {
+            return Sort.Direction.ASC;
+        }
+        try {
+            return Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPaginationException("Sens de tri invalide: " + direction);
+        }
+    }
+}
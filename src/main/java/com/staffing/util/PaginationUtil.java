@@ -1,7 +1,9 @@
 package com.staffing.util;
 
+import com.staffing.dto.KeysetPage;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.text.MessageFormat;
@@ -52,4 +54,34 @@ public final class PaginationUtil {
         
         return headers;
     }
-} 
\ No newline at end of file
+
+    /**
+     * En-têtes d'une page keyset : liens "next" (si une page suit) et "first"
+     * construits à partir de la requête courante, X-Total-Count si le total a été demandé.
+     */
+    public static <T> HttpHeaders generateKeysetHeaders(KeysetPage<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getTotalElements() != null) {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(page.getTotalElements()));
+        }
+
+        StringBuilder link = new StringBuilder();
+        if (page.hasNext()) {
+            String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .replaceQueryParam("limit", page.getLimit())
+                    .toUriString();
+            link.append(MessageFormat.format(HEADER_LINK_FORMAT, nextUrl, "next")).append(",");
+        }
+
+        String firstUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor")
+                .replaceQueryParam("limit", page.getLimit())
+                .toUriString();
+        link.append(MessageFormat.format(HEADER_LINK_FORMAT, firstUrl, "first"));
+
+        headers.add(HttpHeaders.LINK, link.toString());
+
+        return headers;
+    }
+}
@@ -0,0 +1,46 @@
+package com.staffing.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Complète les projections de liste (SELECT new ...) : les collections, comme
+ * les compétences, sont lues par une requête par lot d'identifiants plutôt
+ * qu'entité par entité. Les clauses IN ne dépassent jamais ID_BATCH_SIZE
+ * identifiants, loin de la limite de paramètres de PostgreSQL.
+ */
+public final class ProjectionUtil {
+
+    // Nombre maximal d'identifiants par clause IN
+    public static final int ID_BATCH_SIZE = 1000;
+
+    private ProjectionUtil() {
+    }
+
+    // Lignes (id, ...) renvoyées par lookup pour l'ensemble des ids, regroupées par leur première colonne
+    public static Map<Long, List<Object[]>> groupById(List<Long> ids,
+                                                      Function<Collection<Long>, List<Object[]>> lookup) {
+        Map<Long, List<Object[]>> rows = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + ID_BATCH_SIZE));
+            for (Object[] row : lookup.apply(batch)) {
+                rows.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+            }
+        }
+        return rows;
+    }
+
+    // Somme des lignes modifiées par update (UPDATE ... WHERE id IN), appliqué aux ids par lots
+    public static int updateByBatch(List<Long> ids, ToIntFunction<Collection<Long>> update) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            updated += update.applyAsInt(ids.subList(from, Math.min(ids.size(), from + ID_BATCH_SIZE)));
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,74 @@
+package com.staffing;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+/**
+ * Base des tests d'intégration : contexte Spring complet sur la base PostgreSQL de test
+ * (profil "test"), tables métier vidées avant chaque test.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class AbstractIntegrationTest {
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void cleanTables() {
+        // Sans RESTART IDENTITY : les séquences restent cohérentes avec les blocs déjà alloués par Hibernate
+        jdbcTemplate.execute("TRUNCATE assignments, project_skills, collaborator_skills, projects, collaborators, skills CASCADE");
+    }
+
+    // Nombre de requêtes préparées par Hibernate pendant l'action
+    protected long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    protected Long insertProject(String name, String status, boolean active, LocalDate endDate, double progress) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO projects (name, client, project_manager, start_date, end_date, team_size, status, active, progress, created_at, updated_at) " +
+                "VALUES (?, 'client', 'manager', ?, ?, 3, ?, ?, ?, now(), now()) RETURNING id",
+                Long.class, name, LocalDate.now().minusMonths(6), endDate, status, active, progress);
+    }
+
+    protected Long insertCollaborator(String name, String status, boolean active) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO collaborators (name, email, role, phone, status, experience_years, active) " +
+                "VALUES (?, ?, 'Développeur', '0600000000', ?, 3, ?) RETURNING id",
+                Long.class, name, name + "@example.com", status, active);
+    }
+
+    protected Long insertSkill(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO skills (name, category) VALUES (?, 'Général') RETURNING id", Long.class, name);
+    }
+
+    protected Long insertAssignment(Long collaboratorId, Long projectId) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO assignments (collaborator_id, project_id, role, created_at) VALUES (?, ?, 'DEVELOPER', now()) RETURNING id",
+                Long.class, collaboratorId, projectId);
+    }
+
+    protected void linkProjectSkill(Long projectId, Long skillId) {
+        jdbcTemplate.update("INSERT INTO project_skills (project_id, skill_id) VALUES (?, ?)", projectId, skillId);
+    }
+
+    protected void linkCollaboratorSkill(Long collaboratorId, Long skillId) {
+        jdbcTemplate.update("INSERT INTO collaborator_skills (collaborator_id, skill_id) VALUES (?, ?)", collaboratorId, skillId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.staffing.config;
+
+import com.staffing.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulingConfigTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Test
+    void scheduledJobsDoNotShareASingleThread() {
+        assertThat(taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize()).isGreaterThan(1);
+    }
+}
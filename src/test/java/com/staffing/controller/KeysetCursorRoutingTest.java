@@ -0,0 +1,78 @@
+package com.staffing.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.staffing.AbstractIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Un curseur sans limit doit sélectionner la pagination keyset, pas le flux complet.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class KeysetCursorRoutingTest extends AbstractIntegrationTest {
+
+    private static final Pattern NEXT_CURSOR = Pattern.compile("cursor=([^&>]+)[^,]*rel=\"next\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 5; i++) {
+            Long projectId = insertProject("Projet " + i, "EN_COURS", true, LocalDate.now().plusDays(30), 10);
+            insertAssignment(insertCollaborator("collab" + i, "EN_MISSION", true), projectId);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/assignments", "/api/collaborators/all", "/api/projects/all", "/api/projects/filter"})
+    void cursorWithoutLimitReturnsTheNextKeysetPage(String path) throws Exception {
+        MvcResult first = mockMvc.perform(get(path).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Set<Long> firstIds = ids(first);
+        assertThat(firstIds).hasSize(2);
+        Matcher next = NEXT_CURSOR.matcher(first.getResponse().getHeader(HttpHeaders.LINK));
+        assertThat(next.find()).isTrue();
+        String cursor = URLDecoder.decode(next.group(1), StandardCharsets.UTF_8);
+
+        MvcResult rest = mockMvc.perform(get(path).param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(rest.getRequest().isAsyncStarted()).isFalse();
+        Set<Long> restIds = ids(rest);
+        assertThat(restIds).hasSize(3).doesNotContainAnyElementsOf(firstIds);
+    }
+
+    private Set<Long> ids(MvcResult result) throws Exception {
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        Set<Long> ids = new HashSet<>();
+        body.forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+}
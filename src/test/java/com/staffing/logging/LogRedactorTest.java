@@ -0,0 +1,37 @@
+package com.staffing.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRedactorTest {
+
+    @Test
+    void masksJsonSecrets() {
+        assertThat(LogRedactor.redact("{\"email\":\"a@x.fr\",\"password\":\"s3cret\"}"))
+                .isEqualTo("{\"email\":\"a@x.fr\",\"password\":\"***\"}");
+    }
+
+    @Test
+    void masksLombokToStringSecrets() {
+        assertThat(LogRedactor.redact("Login LoginDTO(email=a@x.fr, password=s3cr, et)"))
+                .isEqualTo("Login LoginDTO(email=a@x.fr, password=***)");
+        assertThat(LogRedactor.redact("RefreshTokenRequestDTO(refreshToken=abc-DEF_123)"))
+                .isEqualTo("RefreshTokenRequestDTO(refreshToken=***)");
+        assertThat(LogRedactor.redact("AuthResponseDTO(token=abc, refreshToken=def, user=UserDTO(id=1, password=null))"))
+                .isEqualTo("AuthResponseDTO(token=***, refreshToken=***, user=UserDTO(id=1, password=***))");
+    }
+
+    @Test
+    void masksBearerHeadersAndJwts() {
+        assertThat(LogRedactor.redact("Authorization: Bearer abc.def.ghi")).isEqualTo("Authorization: Bearer ***");
+        assertThat(LogRedactor.redact("jeton eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiIxIn0.sig rejeté"))
+                .isEqualTo("jeton eyJ*** rejeté");
+    }
+
+    @Test
+    void leavesOrdinaryMessagesUntouched() {
+        String message = "Projet id=42 mis à jour, tokenVersion=3";
+        assertThat(LogRedactor.redact(message)).isSameAs(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.staffing.model.listener;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.model.Collaborator;
+import com.staffing.model.enums.CollaboratorStatus;
+import com.staffing.repository.CollaboratorRepository;
+import com.staffing.service.StatisticsStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatisticsEntityListenerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CollaboratorRepository collaboratorRepository;
+
+    @Autowired
+    private StatisticsStore statisticsStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void statusChangeDoesNotLoadLazySkillsAndKeepsSkillCounters() {
+        Long collaboratorId = insertCollaborator("alice", "DISPONIBLE", true);
+        linkCollaboratorSkill(collaboratorId, insertSkill("Java"));
+        statisticsStore.rebuild();
+
+        long statements = countStatements(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Collaborator collaborator = collaboratorRepository.findById(collaboratorId).orElseThrow();
+            collaborator.setStatus(CollaboratorStatus.EN_MISSION);
+        }));
+
+        // SELECT du collaborateur et UPDATE au flush, sans lecture des compétences
+        assertThat(statements).isEqualTo(2);
+        assertThat(statisticsStore.getActiveCollaboratorsByStatus(CollaboratorStatus.EN_MISSION)).isEqualTo(1);
+        assertThat(statisticsStore.getActiveCollaboratorSkillUsage()).containsEntry("Java", 1L);
+    }
+}
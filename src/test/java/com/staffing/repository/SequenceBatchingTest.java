@@ -0,0 +1,90 @@
+package com.staffing.repository;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.model.Project;
+import com.staffing.model.enums.ProjectStatus;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.metamodel.EntityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SequenceBatchingTest extends AbstractIntegrationTest {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void allocationSizesMatchTheSequenceIncrementsOfTheSchema() {
+        int checked = 0;
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            for (Field field : entity.getJavaType().getDeclaredFields()) {
+                SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+                if (generator == null) {
+                    continue;
+                }
+                List<Long> increments = jdbcTemplate.queryForList(
+                        "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Long.class, generator.sequenceName());
+                // project_alerts n'est pas créée par requetes BD.sql
+                if (increments.isEmpty()) {
+                    continue;
+                }
+                assertThat(increments.get(0)).as(generator.sequenceName()).isEqualTo(generator.allocationSize());
+                checked++;
+            }
+        }
+        assertThat(checked).isGreaterThanOrEqualTo(7);
+    }
+
+    @Test
+    void bulkInsertIsBatchedAndRoundTrips() {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Project project = new Project();
+            project.setName("Projet " + i);
+            project.setClient("client " + (i % 10));
+            project.setProjectManager("manager");
+            project.setStartDate(LocalDate.now());
+            project.setEndDate(LocalDate.now().plusDays(i));
+            project.setTeamSize(1 + i % 5);
+            project.setStatus(ProjectStatus.EN_DEMARRAGE);
+            projects.add(project);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long statements = countStatements(() -> transaction.executeWithoutResult(status -> projectRepository.saveAll(projects)));
+
+        // Un appel de séquence et un lot d'INSERT par tranche de 50 lignes, au lieu d'un INSERT par ligne
+        assertThat(statements).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE);
+
+        Map<Long, String> expected = new HashMap<>();
+        projects.forEach(project -> expected.put(project.getId(), project.getName()));
+        assertThat(expected).hasSize(ROWS).doesNotContainKey(null);
+
+        Map<Long, String> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM projects", rs -> {
+            stored.put(rs.getLong("id"), rs.getString("name"));
+        });
+        assertThat(stored).isEqualTo(expected);
+    }
+}
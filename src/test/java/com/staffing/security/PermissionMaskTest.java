@@ -0,0 +1,118 @@
+package com.staffing.security;
+
+import com.staffing.model.enums.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionMaskTest {
+
+    @Test
+    void roleMasksGrantWhatTheRoleChecksGranted() {
+        for (UserRole role : UserRole.values()) {
+            int mask = PermissionMask.of(role);
+
+            assertThat(has(mask, PermissionMask.READ)).as("%s read", role).isEqualTo(role.canRead());
+            assertThat(has(mask, PermissionMask.DELETE)).as("%s delete", role).isEqualTo(role.canDelete());
+            // Règles d'AuthService avant les masques
+            assertThat(has(mask, PermissionMask.WRITE)).as("%s write", role)
+                    .isEqualTo(role == UserRole.ADMIN || role == UserRole.MANAGER);
+            assertThat(has(mask, PermissionMask.MANAGE_USERS)).as("%s users", role)
+                    .isEqualTo(role == UserRole.ADMIN);
+            assertThat(has(mask, PermissionMask.MANAGE_ASSIGNMENTS)).as("%s assignments", role)
+                    .isEqualTo(role == UserRole.ADMIN || role == UserRole.MANAGER);
+            for (UserRole other : UserRole.values()) {
+                assertThat(has(mask, PermissionMask.roleBit(other))).isEqualTo(role == other);
+            }
+        }
+    }
+
+    @Test
+    void anonymousUserHasNoRightAtAll() {
+        assertThat(PermissionMask.of(null)).isZero();
+    }
+
+    @Test
+    void requirementsMatchTheFormerAnnotationChecks() {
+        for (List<UserRole> allowed : nonEmptySubsets(UserRole.values())) {
+            for (int flags = 0; flags < 8; flags++) {
+                boolean write = (flags & 1) != 0;
+                boolean users = (flags & 2) != 0;
+                boolean assignments = (flags & 4) != 0;
+                PermissionMask.Requirement requirement =
+                        PermissionMask.Requirement.of(requiresRole(allowed, write, users, assignments));
+
+                for (UserRole role : UserRole.values()) {
+                    int granted = PermissionMask.of(role);
+                    int missing = requirement.missingPermissions(granted);
+                    String description = role + " vs " + allowed + " flags=" + flags;
+
+                    assertThat(requirement.hasRole(granted)).as(description).isEqualTo(allowed.contains(role));
+                    assertThat(has(missing, PermissionMask.WRITE)).as(description)
+                            .isEqualTo(write && !role.canWrite());
+                    assertThat(has(missing, PermissionMask.MANAGE_USERS)).as(description)
+                            .isEqualTo(users && !role.canManageUsers());
+                    assertThat(has(missing, PermissionMask.MANAGE_ASSIGNMENTS)).as(description)
+                            .isEqualTo(assignments && !role.canManageAssignments());
+                }
+            }
+        }
+    }
+
+    private static boolean has(int mask, int bits) {
+        return (mask & bits) == bits;
+    }
+
+    private static List<List<UserRole>> nonEmptySubsets(UserRole[] roles) {
+        List<List<UserRole>> subsets = new ArrayList<>();
+        for (int bits = 1; bits < 1 << roles.length; bits++) {
+            List<UserRole> subset = new ArrayList<>();
+            for (int i = 0; i < roles.length; i++) {
+                if ((bits & 1 << i) != 0) {
+                    subset.add(roles[i]);
+                }
+            }
+            subsets.add(subset);
+        }
+        return subsets;
+    }
+
+    private static RequiresRole requiresRole(List<UserRole> roles, boolean write, boolean users, boolean assignments) {
+        return new RequiresRole() {
+            @Override
+            public UserRole[] value() {
+                return roles.toArray(UserRole[]::new);
+            }
+
+            @Override
+            public boolean requireWrite() {
+                return write;
+            }
+
+            @Override
+            public boolean requireUserManagement() {
+                return users;
+            }
+
+            @Override
+            public boolean requireAssignmentManagement() {
+                return assignments;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return RequiresRole.class;
+            }
+
+            @Override
+            public String toString() {
+                return "@RequiresRole(" + Arrays.toString(value()) + ")";
+            }
+        };
+    }
+}
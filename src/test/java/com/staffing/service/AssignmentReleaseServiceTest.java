@@ -0,0 +1,97 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.ReleaseSummaryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssignmentReleaseServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AssignmentReleaseService assignmentReleaseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StatisticsStore statisticsStore;
+
+    @Autowired
+    private SkillGapService skillGapService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void onlyCollaboratorsOfOpenProjectsBecomeAvailable() {
+        LocalDate endDate = LocalDate.now().plusDays(10);
+        Long open = insertProject("Ouvert", "EN_COURS", true, endDate, 50);
+        Long closed = insertProject("Terminé", "TERMINE", true, endDate, 100);
+        Long alice = insertCollaborator("alice", "EN_MISSION", true);
+        Long bob = insertCollaborator("bob", "EN_MISSION", true);
+        insertAssignment(alice, open);
+        insertAssignment(bob, closed);
+
+        ReleaseSummaryDTO fromOpen = assignmentReleaseService.releaseAllFromProject(open);
+        ReleaseSummaryDTO fromClosed = assignmentReleaseService.releaseAllFromProject(closed);
+
+        assertThat(fromOpen.getReleasedAssignments()).isEqualTo(1);
+        assertThat(fromOpen.getFreedCollaborators()).isEqualTo(1);
+        assertThat(fromClosed.getReleasedAssignments()).isEqualTo(1);
+        assertThat(fromClosed.getFreedCollaborators()).isZero();
+        assertThat(collaboratorStatus(alice)).isEqualTo("DISPONIBLE");
+        assertThat(collaboratorStatus(bob)).isEqualTo("EN_MISSION");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM assignments", Long.class)).isZero();
+    }
+
+    @Test
+    void endingSweepCommitsSeveralChunks() {
+        LocalDate soon = LocalDate.now().plusDays(5);
+        for (int i = 0; i < 5; i++) {
+            Long project = insertProject("Projet " + i, "EN_COURS", true, soon, 90);
+            insertAssignment(insertCollaborator("collab" + i, "EN_MISSION", true), project);
+        }
+        Long later = insertProject("Plus tard", "EN_COURS", true, LocalDate.now().plusDays(90), 10);
+        Long kept = insertCollaborator("kept", "EN_MISSION", true);
+        insertAssignment(kept, later);
+
+        ReleaseSummaryDTO summary = releaseService(2).releaseEndingProjects();
+
+        // Lots de 2, 2 puis 1 : le dernier, incomplet, termine le balayage
+        assertThat(summary.getReleasedAssignments()).isEqualTo(5);
+        assertThat(summary.getFreedCollaborators()).isEqualTo(5);
+        assertThat(summary.getChunks()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT collaborator_id FROM assignments", Long.class)).containsExactly(kept);
+        assertThat(collaboratorStatus(kept)).isEqualTo("EN_MISSION");
+    }
+
+    @Test
+    void nonPositiveChunkSizeIsClampedToOne() {
+        LocalDate soon = LocalDate.now().plusDays(5);
+        for (int i = 0; i < 2; i++) {
+            Long project = insertProject("Projet " + i, "EN_COURS", true, soon, 90);
+            insertAssignment(insertCollaborator("collab" + i, "EN_MISSION", true), project);
+        }
+
+        ReleaseSummaryDTO summary = releaseService(0).releaseEndingProjects();
+
+        assertThat(summary.getReleasedAssignments()).isEqualTo(2);
+        assertThat(summary.getChunks()).isEqualTo(3);
+        assertThat(releaseService(-1).releaseEndingProjects().getReleasedAssignments()).isZero();
+    }
+
+    private AssignmentReleaseService releaseService(int chunkSize) {
+        return new AssignmentReleaseService(jdbcTemplate, transactionTemplate, statisticsStore,
+                skillGapService, cacheManager, chunkSize, 30);
+    }
+
+    private String collaboratorStatus(Long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM collaborators WHERE id = ?", String.class, id);
+    }
+}
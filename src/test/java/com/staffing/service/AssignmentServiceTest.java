@@ -0,0 +1,41 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssignmentServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Test
+    void removalStatisticsOnlyCountOpenProjectsEndingWithinThirtyDays() {
+        LocalDate today = LocalDate.now();
+        Long alice = insertCollaborator("alice", "EN_MISSION", true);
+        Long bob = insertCollaborator("bob", "EN_MISSION", true);
+        Long carol = insertCollaborator("carol", "EN_MISSION", true);
+
+        Long endingSoon = insertProject("Bientôt fini", "EN_COURS", true, today.plusDays(10), 80);
+        insertAssignment(alice, endingSoon);
+        insertAssignment(bob, endingSoon);
+        insertAssignment(alice, insertProject("En pause", "EN_PAUSE", true, today.plusDays(20), 50));
+        // Hors fenêtre : bornes exclues, projet terminé ou annulé, échéance lointaine
+        insertAssignment(carol, insertProject("Finit aujourd'hui", "EN_COURS", true, today, 90));
+        insertAssignment(carol, insertProject("Finit dans 30 jours", "EN_COURS", true, today.plusDays(30), 60));
+        insertAssignment(carol, insertProject("Terminé", "TERMINE", true, today.plusDays(5), 100));
+        insertAssignment(carol, insertProject("Annulé", "ANNULE", false, today.plusDays(5), 10));
+        insertAssignment(carol, insertProject("Lointain", "EN_DEMARRAGE", true, today.plusDays(90), 0));
+
+        Map<String, Object> statistics = assignmentService.getRemovalStatistics();
+
+        assertThat(statistics.get("activeAssignments")).isEqualTo(6L);
+        assertThat(statistics.get("endingSoon")).isEqualTo(3L);
+        assertThat(statistics.get("collaboratorsToBeReleased")).isEqualTo(2L);
+    }
+}
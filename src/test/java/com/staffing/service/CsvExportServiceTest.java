@@ -0,0 +1,44 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.ProjectFilterDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvExportServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CsvExportService csvExportService;
+
+    @Test
+    void neutralizesCellsThatASpreadsheetWouldEvaluate() {
+        assertThat(CsvExportService.neutralize("=1+1")).isEqualTo("'=1+1");
+        assertThat(CsvExportService.neutralize("+33 6 12 34 56 78")).isEqualTo("+33 6 12 34 56 78");
+        assertThat(CsvExportService.neutralize("+(33)612345678")).isEqualTo("+(33)612345678");
+        assertThat(CsvExportService.neutralize("+33+cmd|' /C calc'!A0")).isEqualTo("'+33+cmd|' /C calc'!A0");
+        assertThat(CsvExportService.neutralize("-2")).isEqualTo("'-2");
+        assertThat(CsvExportService.neutralize("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(CsvExportService.neutralize("\tcmd")).isEqualTo("'\tcmd");
+        assertThat(CsvExportService.neutralize("\rcmd")).isEqualTo("'\rcmd");
+        assertThat(CsvExportService.neutralize("Refonte SI")).isEqualTo("Refonte SI");
+        assertThat(CsvExportService.neutralize("")).isEmpty();
+    }
+
+    @Test
+    void exportedProjectCellsAreNeutralized() throws Exception {
+        Long projectId = insertProject("=HYPERLINK(\"http://example.com\")", "EN_COURS", true, LocalDate.now().plusDays(10), 25);
+        linkProjectSkill(projectId, insertSkill("@Java"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvExportService.exportProjects(new ProjectFilterDTO(), out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).contains("'=HYPERLINK(").contains("'@Java").contains(",25.0,");
+    }
+}
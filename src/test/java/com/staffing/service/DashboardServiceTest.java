@@ -0,0 +1,47 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.DashboardDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Test
+    void dashboardIsComputedInASingleStatement() {
+        for (int i = 0; i < 30; i++) {
+            Long projectId = insertProject("Projet " + i, "EN_COURS", true, LocalDate.now().plusDays(30), 50);
+            insertAssignment(insertCollaborator("collaborateur" + i, "EN_MISSION", true), projectId);
+        }
+
+        long statements = countStatements(() -> dashboardService.loadDashboardData());
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void dashboardIndicatorsMatchTheData() {
+        insertProject("En cours", "EN_COURS", true, LocalDate.now().plusDays(10), 40);
+        insertProject("En retard", "EN_COURS", true, LocalDate.now().minusDays(3), 80);
+        insertProject("Annulé", "ANNULE", false, LocalDate.now().plusDays(10), 10);
+        Long collaboratorId = insertCollaborator("alice", "EN_MISSION", true);
+        insertCollaborator("bob", "DISPONIBLE", false);
+        insertAssignment(collaboratorId, insertProject("Démarrage", "EN_DEMARRAGE", true, LocalDate.now().plusDays(60), 0));
+
+        DashboardDTO dashboard = dashboardService.loadDashboardData();
+
+        assertThat(dashboard.getTotalActiveProjects()).isEqualTo(3);
+        assertThat(dashboard.getTotalCollaborators()).isEqualTo(1);
+        assertThat(dashboard.getOverdueProjects()).isEqualTo(1);
+        assertThat(dashboard.getNewAssignments()).isEqualTo(1);
+        assertThat(dashboard.getRecentProjectUpdates()).isEqualTo(4);
+        assertThat(dashboard.getOverallProjectProgress()).isEqualTo(40.0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.AssignmentDTO;
+import com.staffing.dto.ProjectDTO;
+import com.staffing.model.enums.ProjectStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budget de requêtes des listes : le nombre de requêtes ne dépend pas du nombre de lignes
+ * (pas de N+1 sur les collaborateurs, projets et compétences).
+ */
+class ListQueryBudgetTest extends AbstractIntegrationTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CollaboratorService collaboratorService;
+
+    private Long firstProjectId;
+    private Long firstCollaboratorId;
+
+    @BeforeEach
+    void seed() {
+        List<Long> skillIds = List.of(insertSkill("Java"), insertSkill("SQL"), insertSkill("Angular"));
+        List<Long> projectIds = new ArrayList<>();
+        List<Long> collaboratorIds = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Long projectId = insertProject("Projet " + i, "EN_COURS", true, LocalDate.now().plusDays(30), 50);
+            Long collaboratorId = insertCollaborator("collab" + i, "EN_MISSION", true);
+            for (Long skillId : skillIds) {
+                linkProjectSkill(projectId, skillId);
+                linkCollaboratorSkill(collaboratorId, skillId);
+            }
+            projectIds.add(projectId);
+            collaboratorIds.add(collaboratorId);
+        }
+        // Chaque collaborateur est affecté à tous les projets
+        for (Long collaboratorId : collaboratorIds) {
+            for (Long projectId : projectIds) {
+                insertAssignment(collaboratorId, projectId);
+            }
+        }
+        firstProjectId = projectIds.get(0);
+        firstCollaboratorId = collaboratorIds.get(0);
+    }
+
+    @Test
+    void assignmentListsUseASingleQuery() {
+        assertBudget(1, ROWS * ROWS, assignmentService::getAllAssignments);
+        assertBudget(1, ROWS * ROWS, assignmentService::getActiveAssignments);
+        assertBudget(1, ROWS, () -> assignmentService.getAssignmentsByProjectId(firstProjectId));
+        assertBudget(1, ROWS, () -> assignmentService.getAssignmentsByCollaboratorId(firstCollaboratorId));
+        assertStreamBudget(1, ROWS * ROWS, () -> assignmentService.streamAllAssignments(dto -> { }));
+    }
+
+    @Test
+    void detailReadsUseProjections() {
+        ProjectDTO[] project = new ProjectDTO[1];
+        assertThat(countStatements(() -> project[0] = projectService.getProjectById(firstProjectId))).isEqualTo(2);
+        assertThat(project[0].getSkillNames()).containsExactlyInAnyOrder("Java", "SQL", "Angular");
+
+        Long assignmentId = assignmentService.getAssignmentsByProjectId(firstProjectId).get(0).getId();
+        AssignmentDTO[] assignment = new AssignmentDTO[1];
+        assertThat(countStatements(() -> assignment[0] = assignmentService.getAssignmentById(assignmentId))).isEqualTo(1);
+        assertThat(assignment[0].getProjectName()).isEqualTo("Projet 0");
+    }
+
+    @Test
+    void projectListsLoadSkillsInOneExtraQuery() {
+        assertBudget(2, ROWS, projectService::getAllProjects);
+        assertBudget(2, ROWS, projectService::getActiveProjects);
+        assertBudget(2, ROWS, projectService::getAllProjectsIncludingInactive);
+        assertBudget(2, ROWS, () -> projectService.getProjectsByStatus(ProjectStatus.EN_COURS));
+        assertBudget(2, ROWS, () -> projectService.getProjectsByClient("client"));
+        assertBudget(2, ROWS, projectService::getInProgressProjects);
+        assertBudget(2, ROWS, () -> projectService.getProjectsBySkill("Java"));
+        assertBudget(2, ROWS, () -> projectService.getProjectsByCollaborator(firstCollaboratorId));
+        assertBudget(2, ROWS, () -> projectService.getActiveProjectsByStatus(ProjectStatus.EN_COURS));
+        assertBudget(2, ROWS, () -> projectService.getActiveProjectsByClient("client"));
+        assertBudget(2, 0, projectService::getCriticalProjects);
+        assertStreamBudget(1, ROWS, () -> projectService.streamAllProjects(dto -> { }));
+    }
+
+    @Test
+    void collaboratorListsDoNotGrowWithRowCount() {
+        assertBudget(3, ROWS, collaboratorService::getAllCollaborators);
+        assertBudget(3, ROWS, collaboratorService::getActiveCollaborators);
+        // Flux : compteurs des compétences (collaborateurs, projets) chargés par lots
+        assertStreamBudget(3, ROWS, () -> collaboratorService.streamAllCollaborators(dto -> { }));
+    }
+
+    private void assertBudget(long maxStatements, int expectedRows, Supplier<List<?>> listing) {
+        List<?>[] result = new List<?>[1];
+        long statements = countStatements(() -> result[0] = listing.get());
+        assertThat(result[0]).hasSize(expectedRows);
+        assertThat(statements).isLessThanOrEqualTo(maxStatements);
+    }
+
+    private void assertStreamBudget(long maxStatements, long expectedRows, Supplier<Long> streaming) {
+        long[] written = new long[1];
+        long statements = countStatements(() -> written[0] = streaming.get());
+        assertThat(written[0]).isEqualTo(expectedRows);
+        assertThat(statements).isLessThanOrEqualTo(maxStatements);
+    }
+}
@@ -0,0 +1,68 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.BulkActivationReportDTO;
+import com.staffing.dto.ProjectDTO;
+import com.staffing.model.Project;
+import com.staffing.repository.ProjectRepository;
+import com.staffing.repository.specification.ProjectSpecifications;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void inProgressAndCriticalListsMatchTheirKeysetSpecifications() {
+        LocalDate today = LocalDate.now();
+        Long running = insertProject("En cours", "EN_COURS", true, today.plusDays(10), 40);
+        Long late = insertProject("En retard", "EN_COURS", true, today.minusDays(3), 70);
+        Long paused = insertProject("En pause en retard", "EN_PAUSE", true, today.minusDays(1), 20);
+        insertProject("Terminé", "TERMINE", false, today.minusDays(20), 100);
+        insertProject("À venir", "EN_DEMARRAGE", true, today.plusDays(60), 0);
+
+        assertThat(projectService.getInProgressProjects()).extracting(ProjectDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(projectRepository.findAll(ProjectSpecifications.inProgress(today))
+                        .stream().map(Project::getId).toList())
+                .containsExactly(running);
+        assertThat(projectService.getCriticalProjects()).extracting(ProjectDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(projectRepository.findAll(ProjectSpecifications.critical(today))
+                        .stream().map(Project::getId).toList())
+                .containsExactlyInAnyOrder(late, paused);
+    }
+
+    @Test
+    void bulkDeactivationAcceptsMoreIdsThanPostgresBindParameters() {
+        jdbcTemplate.update("INSERT INTO projects (name, client, project_manager, start_date, end_date, team_size, status, active, progress, created_at) " +
+                "SELECT 'Projet ' || g, 'client', 'manager', current_date, current_date + 30, 1, 'EN_COURS', true, 0, now() " +
+                "FROM generate_series(1, 2500) g");
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList("SELECT id FROM projects", Long.class));
+        Long assigned = ids.get(0);
+        insertAssignment(insertCollaborator("alice", "EN_MISSION", true), assigned);
+        long unknown = -1;
+        while (ids.size() < 40_000) {
+            ids.add(unknown--);
+        }
+
+        BulkActivationReportDTO report = projectService.deactivateProjects(ids);
+
+        assertThat(report.getRequested()).isEqualTo(40_000);
+        assertThat(report.getUpdated()).isEqualTo(2499);
+        assertThat(report.getOutcomes()).filteredOn(outcome -> outcome.getStatus() == BulkActivationReportDTO.Status.NOT_FOUND)
+                .hasSize(40_000 - 2500);
+        assertThat(report.getOutcomes()).filteredOn(outcome -> outcome.getStatus() == BulkActivationReportDTO.Status.BLOCKED)
+                .extracting(BulkActivationReportDTO.Outcome::getId).containsExactly(assigned);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM projects WHERE active", Long.class)).isEqualTo(1);
+    }
+}
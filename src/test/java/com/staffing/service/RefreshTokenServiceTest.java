@@ -0,0 +1,51 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.AuthResponseDTO;
+import com.staffing.exception.AuthenticationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rolledBackRotationLeavesTheTokenUsable() {
+        String token = refreshTokenService.issue(insertUser());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            refreshTokenService.rotate(token);
+            status.setRollbackOnly();
+        });
+
+        AuthResponseDTO response = refreshTokenService.rotate(token);
+        assertThat(response.getRefreshToken()).isNotEqualTo(token);
+    }
+
+    @Test
+    void reusingAConsumedTokenRevokesTheFamily() {
+        String token = refreshTokenService.issue(insertUser());
+        String next = refreshTokenService.rotate(token).getRefreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(AuthenticationException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(next)).isInstanceOf(AuthenticationException.class);
+    }
+
+    private Long insertUser() {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (first_name, last_name, email, password, role) VALUES ('Test', 'User', ?, 'x', 'USER') RETURNING id",
+                Long.class, UUID.randomUUID() + "@example.com");
+    }
+}
@@ -0,0 +1,71 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.ReleaseForecastDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReleaseForecastServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ReleaseForecastService releaseForecastService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void forecastRollsUpPerWeekRoleAndSkill() {
+        LocalDate firstWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Long java = insertSkill("Java");
+        Long sql = insertSkill("SQL");
+        Long alice = insertCollaborator("alice", "EN_MISSION", true);
+        Long bob = insertCollaborator("bob", "EN_MISSION", true);
+        Long carol = insertCollaborator("carol", "EN_MISSION", true);
+        linkCollaboratorSkill(alice, java);
+        linkCollaboratorSkill(alice, sql);
+        linkCollaboratorSkill(bob, java);
+
+        // Semaine suivante : alice (développeuse) et bob (lead)
+        Long nextWeekProject = insertProject("Projet A", "EN_COURS", true, firstWeek.plusWeeks(1).plusDays(1), 80);
+        insertAssignment(alice, nextWeekProject);
+        Long lead = insertAssignment(bob, nextWeekProject);
+        jdbcTemplate.update("UPDATE assignments SET role = 'LEAD_DEVELOPER' WHERE id = ?", lead);
+        // Dans deux semaines : alice et carol, carol sans compétence
+        Long laterProject = insertProject("Projet B", "EN_PAUSE", true, firstWeek.plusWeeks(2).plusDays(3), 50);
+        insertAssignment(alice, laterProject);
+        insertAssignment(carol, laterProject);
+        // Projet terminé : ignoré
+        Long closedProject = insertProject("Projet C", "TERMINE", true, firstWeek.plusWeeks(1).plusDays(2), 100);
+        insertAssignment(carol, closedProject);
+        cacheManager.getCache("releaseForecast").clear();
+
+        List<ReleaseForecastDTO.WeekForecast> weeks = releaseForecastService.getReleaseForecast(4).getWeeks();
+
+        assertThat(weeks).hasSize(4);
+        assertThat(weeks.get(0).getEndingAssignments()).isZero();
+
+        ReleaseForecastDTO.WeekForecast nextWeek = weeks.get(1);
+        assertThat(nextWeek.getWeekStart()).isEqualTo(firstWeek.plusWeeks(1));
+        assertThat(nextWeek.getEndingAssignments()).isEqualTo(2);
+        assertThat(nextWeek.getReleasedCollaborators()).isEqualTo(2);
+        assertThat(nextWeek.getEndingAssignmentsByRole()).isEqualTo(Map.of("DEVELOPER", 1L, "LEAD_DEVELOPER", 1L));
+        assertThat(nextWeek.getReleasedCollaboratorsBySkill()).isEqualTo(Map.of("Java", 2L, "SQL", 1L));
+
+        ReleaseForecastDTO.WeekForecast laterWeek = weeks.get(2);
+        assertThat(laterWeek.getEndingAssignments()).isEqualTo(2);
+        assertThat(laterWeek.getReleasedCollaborators()).isEqualTo(2);
+        assertThat(laterWeek.getEndingAssignmentsByRole()).isEqualTo(Map.of("DEVELOPER", 2L));
+        assertThat(laterWeek.getReleasedCollaboratorsBySkill()).isEqualTo(Map.of("Java", 1L, "SQL", 1L));
+
+        assertThat(weeks.get(3).getEndingAssignments()).isZero();
+    }
+}
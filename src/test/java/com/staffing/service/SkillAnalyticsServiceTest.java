@@ -0,0 +1,47 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.dto.SkillUsageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SkillAnalyticsServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private SkillAnalyticsService skillAnalyticsService;
+
+    @Test
+    void usageProjectionReadsCountsFromNativeQuery() {
+        Long java = insertSkill("Java");
+        Long sql = insertSkill("SQL");
+        Long cobol = insertSkill("Cobol");
+        Long alice = insertCollaborator("alice", "DISPONIBLE", true);
+        Long bob = insertCollaborator("bob", "DISPONIBLE", true);
+        Long inactive = insertCollaborator("carol", "DISPONIBLE", false);
+        linkCollaboratorSkill(alice, java);
+        linkCollaboratorSkill(bob, java);
+        linkCollaboratorSkill(alice, sql);
+        linkCollaboratorSkill(inactive, cobol);
+        Long project = insertProject("Projet", "EN_COURS", true, LocalDate.now().plusDays(30), 10);
+        linkProjectSkill(project, java);
+
+        assertThat(skillAnalyticsService.getSkillHistogram())
+                .extracting(SkillUsageDTO::getSkillId, SkillUsageDTO::getName,
+                        SkillUsageDTO::getCollaboratorCount, SkillUsageDTO::getProjectCount, SkillUsageDTO::getSupplyDemandRatio)
+                .containsExactly(
+                        tuple(java, "Java", 2L, 1L, 2.0),
+                        tuple(sql, "SQL", 1L, 0L, null),
+                        tuple(cobol, "Cobol", 0L, 0L, null));
+
+        List<SkillUsageDTO> mostUsed = skillAnalyticsService.getMostUsedSkills(1);
+        assertThat(mostUsed).extracting(SkillUsageDTO::getSkillId).containsExactly(java);
+        assertThat(skillAnalyticsService.getLeastUsedSkills(5)).extracting(SkillUsageDTO::getSkillId)
+                .containsExactly(sql, java);
+    }
+}
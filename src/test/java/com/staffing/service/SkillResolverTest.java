@@ -0,0 +1,49 @@
+package com.staffing.service;
+
+import com.staffing.AbstractIntegrationTest;
+import com.staffing.model.Skill;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillResolverTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private SkillResolver skillResolver;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void skillRenamedOnAnotherNodeIsNotResolvedFromTheCache() {
+        Long javaId = insertSkill("Java");
+        assertThat(resolve("java")).extracting(Skill::getId).containsExactly(javaId);
+
+        // Renommage sans passer par ce nœud : son cache n'est pas vidé
+        jdbcTemplate.update("UPDATE skills SET name = 'Kotlin' WHERE id = ?", javaId);
+
+        Set<Skill> resolved = resolve("Java");
+        assertThat(resolved).extracting(Skill::getName).containsExactly("Java");
+        assertThat(resolved).extracting(Skill::getId).doesNotContain(javaId);
+    }
+
+    @Test
+    void skillDeletedOnAnotherNodeIsCreatedAgain() {
+        Long goId = insertSkill("Go");
+        resolve("Go");
+
+        jdbcTemplate.update("DELETE FROM skills WHERE id = ?", goId);
+
+        assertThat(resolve("go")).extracting(Skill::getName).containsExactly("go");
+    }
+
+    private Set<Skill> resolve(String... names) {
+        return new TransactionTemplate(transactionManager).execute(status -> skillResolver.resolve(List.of(names)));
+    }
+}
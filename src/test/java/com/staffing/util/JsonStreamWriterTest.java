@@ -0,0 +1,51 @@
+package com.staffing.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonStreamWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesACompleteArrayWhenTheProducerSucceeds() throws Exception {
+        String json = write(null, sink -> List.of(1, 2, 3).forEach(i -> sink.accept(Map.of("id", i))));
+
+        assertThat(objectMapper.readTree(json)).hasSize(3);
+    }
+
+    @Test
+    void writesOneObjectPerLineForNdjson() throws Exception {
+        String json = write(JsonStreamWriter.NDJSON_VALUE, sink -> List.of(1, 2).forEach(i -> sink.accept(Map.of("id", i))));
+
+        assertThat(json).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+
+    @Test
+    void leavesTheArrayOpenWhenTheProducerFails() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingResponseBody body = JsonStreamWriter.response(objectMapper, null, sink -> {
+            sink.accept(Map.of("id", 1));
+            throw new IllegalStateException("connexion perdue");
+        }).getBody();
+
+        assertThatThrownBy(() -> body.writeTo(out)).isInstanceOf(IllegalStateException.class);
+        assertThat(out.toString(StandardCharsets.UTF_8)).doesNotEndWith("]");
+    }
+
+    private String write(String accept, Consumer<Consumer<Object>> producer) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonStreamWriter.response(objectMapper, accept, producer).getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
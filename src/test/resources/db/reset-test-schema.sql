@@ -0,0 +1,2 @@
+DROP SCHEMA IF EXISTS public CASCADE;
+CREATE SCHEMA public;